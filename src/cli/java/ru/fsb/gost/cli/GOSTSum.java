@@ -0,0 +1,367 @@
+package ru.fsb.gost.cli;
+
+import ru.fsb.gost.GOSTFiles;
+import ru.fsb.gost.GOSTHash;
+import ru.fsb.gost.GOSTProvider;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * sha512sum-style manifests with GOST R 34.11-2012:
+ *
+ * <pre>
+ * gostsum [-a 256|512] [-j threads] path...      print a manifest for all files under the paths
+ * gostsum [-a 256|512] [-j threads] -c manifest  verify the files listed in a manifest
+ * </pre>
+ *
+ * Files are read on a virtual thread each where the JVM has them (JDK 21 and later,
+ * looked up at run time as the tool targets Java 8) and otherwise on a fixed pool of
+ * that many threads. Either way at most that many files (one per core by default) are
+ * hashed at once, so -j caps the CPU used. At most four files per thread are in flight,
+ * and results are printed in manifest order, so memory stays flat for any number of
+ * files. Files from LARGE_FILE bytes on are read and hashed through GOSTFiles'
+ * memory-mapped windows, smaller ones are read in a single read and hashed with GOSTHash.
+ */
+public final class GOSTSum {
+
+    final static long LARGE_FILE = 1024 * 1024;
+
+    private final static String USAGE =
+            "Usage: gostsum [-a 256|512] [-j threads] path...\n"
+          + "       gostsum [-a 256|512] [-j threads] -c manifest";
+
+    private final String algorithm;
+    private final ExecutorService pool;
+    // Bounds the results buffered ahead of printing
+    private final int window;
+    // Bounds the files being hashed, which the virtual thread pool does not
+    private final Semaphore hashing;
+
+    private GOSTSum(String algorithm, int threads) {
+        this.algorithm = algorithm;
+        this.pool = newPool(threads);
+        this.window = 4 * threads;
+        this.hashing = new Semaphore(threads);
+    }
+
+    private static ExecutorService newPool(int threads) {
+        try {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Before JDK 21
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "gostsum");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the tool with the given arguments, as main does but without exiting.
+     *
+     * @return the exit status: 0 on success, 1 if a file failed, 2 on bad usage
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+
+        String algorithm = "GOST3411-2012.512";
+        int threads = Runtime.getRuntime().availableProcessors();
+        String manifest = null;
+        List<Path> paths = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-a":
+                        String bits = args[++i];
+                        if (!"256".equals(bits) && !"512".equals(bits)) {
+                            throw new IllegalArgumentException("Unknown digest size " + bits);
+                        }
+                        algorithm = "GOST3411-2012." + bits;
+                        break;
+                    case "-j":
+                        threads = Integer.parseInt(args[++i]);
+                        if (threads <= 0) {
+                            throw new IllegalArgumentException("Thread count must be positive");
+                        }
+                        break;
+                    case "-c":
+                        manifest = args[++i];
+                        break;
+                    default:
+                        paths.add(Paths.get(args[i]));
+                }
+            }
+            if ((manifest == null) == paths.isEmpty()) {
+                throw new IllegalArgumentException("Give either paths or a manifest");
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            err.println(e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+
+        GOSTSum sum = new GOSTSum(algorithm, threads);
+        try {
+            return manifest == null ? sum.create(paths, out, err) : sum.verify(Paths.get(manifest), out, err);
+        } catch (IOException e) {
+            boolean named = e instanceof FileSystemException && ((FileSystemException)e).getFile() != null;
+            err.println("gostsum: " + (named ? ((FileSystemException)e).getFile() + ": " : "") + reason(e));
+            return 1;
+        } finally {
+            sum.pool.shutdownNow();
+        }
+    }
+
+    private int create(List<Path> roots, PrintStream out, PrintStream err) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path root : roots) {
+            try (Stream<Path> tree = Files.walk(root)) {
+                files.addAll(tree.filter(Files::isRegularFile).collect(Collectors.toList()));
+            } catch (UncheckedIOException e) {
+                // An unreadable directory below the root
+                throw e.getCause();
+            }
+        }
+        Collections.sort(files);
+
+        int failed = 0;
+        Deque<Task> pending = new ArrayDeque<>();
+        for (Path file : files) {
+            pending.add(new Task(file, file.toString(), null).start(this));
+            if (pending.size() >= window) {
+                failed += print(pending.remove(), out, err);
+            }
+        }
+        while (!pending.isEmpty()) {
+            failed += print(pending.remove(), out, err);
+        }
+        return failed == 0 ? 0 : 1;
+    }
+
+    private int print(Task task, PrintStream out, PrintStream err) {
+        try {
+            out.println(formatLine(task.result(), task.file.toString()));
+            return 0;
+        } catch (IOException e) {
+            err.println("gostsum: " + task.file + ": " + reason(e));
+            return 1;
+        }
+    }
+
+    private int verify(Path manifest, PrintStream out, PrintStream err) throws IOException {
+        int mismatched = 0;
+        int unreadable = 0;
+        int malformed = 0;
+        Deque<Task> pending = new ArrayDeque<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Task task = parseLine(line);
+                if (task == null) {
+                    malformed++;
+                    continue;
+                }
+                pending.add(task.start(this));
+                if (pending.size() >= window) {
+                    int status = check(pending.remove(), out);
+                    mismatched += status & 1;
+                    unreadable += status >> 1;
+                }
+            }
+        }
+        while (!pending.isEmpty()) {
+            int status = check(pending.remove(), out);
+            mismatched += status & 1;
+            unreadable += status >> 1;
+        }
+
+        if (malformed > 0) {
+            err.println("gostsum: WARNING: " + malformed + " line(s) improperly formatted");
+        }
+        if (unreadable > 0) {
+            err.println("gostsum: WARNING: " + unreadable + " listed file(s) could not be read");
+        }
+        if (mismatched > 0) {
+            err.println("gostsum: WARNING: " + mismatched + " computed checksum(s) did NOT match");
+        }
+        return mismatched + unreadable + malformed == 0 ? 0 : 1;
+    }
+
+    /**
+     * @return 0 when the file matches, 1 on a mismatch, 2 when it could not be read
+     */
+    private int check(Task task, PrintStream out) {
+        try {
+            if (task.expected.equalsIgnoreCase(toHex(task.result()))) {
+                out.println(task.name + ": OK");
+                return 0;
+            }
+            out.println(task.name + ": FAILED");
+            return 1;
+        } catch (IOException e) {
+            out.println(task.name + ": FAILED open or read");
+            return 2;
+        }
+    }
+
+    private byte[] digest(Path file) throws IOException, NoSuchAlgorithmException, InterruptedException {
+        if (Files.size(file) >= LARGE_FILE) {
+            hashing.acquire();
+            try {
+                return GOSTFiles.digest(file, algorithm);
+            } finally {
+                hashing.release();
+            }
+        }
+
+        byte[] content = Files.readAllBytes(file);
+        hashing.acquire();
+        try {
+            return "GOST3411-2012.256".equals(algorithm) ? GOSTHash.hash256(content) : GOSTHash.hash512(content);
+        } finally {
+            hashing.release();
+        }
+    }
+
+    /**
+     * The reason for e in the words of the coreutils tools.
+     */
+    private static String reason(IOException e) {
+        if (e instanceof AccessDeniedException) {
+            return "Permission denied";
+        }
+        if (e instanceof NoSuchFileException) {
+            return "No such file or directory";
+        }
+        if (e instanceof FileSystemException) {
+            String reason = ((FileSystemException)e).getReason();
+            return reason != null ? reason : e.getMessage();
+        }
+        return e.getMessage();
+    }
+
+    /**
+     * A manifest line is "digest  name", with a leading backslash when the name contains
+     * a backslash or newline, which are then escaped as in sha512sum. A "*" in place of
+     * the second space marks binary mode and means the same here.
+     */
+    static String formatLine(byte[] digest, String name) {
+        if (name.indexOf('\\') < 0 && name.indexOf('\n') < 0) {
+            return toHex(digest) + "  " + name;
+        }
+        return "\\" + toHex(digest) + "  " + name.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private Task parseLine(String line) {
+        boolean escaped = line.startsWith("\\");
+        if (escaped) {
+            line = line.substring(1);
+        }
+
+        int length = 2 * ("GOST3411-2012.256".equals(algorithm) ? 32 : 64);
+        if (line.length() < length + 3 || line.charAt(length) != ' '
+                || (line.charAt(length + 1) != ' ' && line.charAt(length + 1) != '*')) {
+            return null;
+        }
+        String expected = line.substring(0, length);
+        for (int i = 0; i < length; i++) {
+            if (Character.digit(expected.charAt(i), 16) < 0) {
+                return null;
+            }
+        }
+
+        String name = line.substring(length + 2);
+        if (escaped) {
+            StringBuilder sb = new StringBuilder(name.length());
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '\\' && i + 1 < name.length()) {
+                    c = name.charAt(++i) == 'n' ? '\n' : name.charAt(i);
+                }
+                sb.append(c);
+            }
+            name = sb.toString();
+        }
+        try {
+            return new Task(Paths.get(name), name, expected);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * One file to hash, with its expected digest when verifying.
+     */
+    private static final class Task {
+        final Path file;
+        final String name;
+        final String expected;
+        Future<byte[]> future;
+
+        Task(Path file, String name, String expected) {
+            this.file = file;
+            this.name = name;
+            this.expected = expected;
+        }
+
+        Task start(GOSTSum sum) {
+            future = sum.pool.submit(() -> sum.digest(file));
+            return this;
+        }
+
+        byte[] result() throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof IOException ? (IOException)cause : new IOException(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.fsb.gost;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one large GOST3411-2012 digest, committed when it is
+ * finalized. Only loaded by GOSTMetrics when metrics are enabled.
+ */
+@Name("ru.fsb.gost.Hash")
+@Label("GOST R 34.11-2012 Hash")
+@Category("GOST")
+@Description("A message digest of at least ru.fsb.gost.metrics.eventThreshold bytes")
+final class GOSTHashEvent extends Event {
+
+    @Label("Digest Length")
+    @DataAmount(DataAmount.BYTES)
+    int digestLength;
+
+    @Label("Message Length")
+    @DataAmount(DataAmount.BYTES)
+    long bytes;
+
+    @Label("Hashing Time")
+    @Description("Time spent in updates and finalization")
+    @Timespan(Timespan.NANOSECONDS)
+    long hashingTime;
+
+    @Label("Elapsed Time")
+    @Description("Time from the first timed update to the digest")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsedTime;
+
+    static final class Sink implements GOSTMetrics.EventSink {
+
+        @Override
+        public void hashed(int digestLength, long bytes, long busyNanos, long elapsedNanos) {
+            GOSTHashEvent event = new GOSTHashEvent();
+            if (event.isEnabled()) {
+                event.digestLength = digestLength;
+                event.bytes = bytes;
+                event.hashingTime = busyNanos;
+                event.elapsedTime = elapsedNanos;
+                event.commit();
+            }
+        }
+    }
+}
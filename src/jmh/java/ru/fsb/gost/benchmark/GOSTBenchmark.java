@@ -1,5 +1,6 @@
 package ru.fsb.gost.benchmark;
 
+import ru.fsb.gost.GOSTBatch;
 import ru.fsb.gost.GOSTProvider;
 
 import org.openjdk.jmh.annotations.Benchmark;
@@ -7,21 +8,38 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.Scope;
 
+import java.security.DigestException;
+import java.security.GeneralSecurityException;
 import java.security.Security;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
 import java.util.Arrays;
 
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
 public class GOSTBenchmark {
 
     @State(Scope.Thread)
     public static class ThreadState {
         public MessageDigest md512;
+        public MessageDigest md256;
+        public MessageDigest tree512;
+        public SecretKeyFactory pbkdf2;
         public static byte[] payload;
+        public static byte[] record;
+        public static byte[][] records;
+        public final byte[] out = new byte[64];
         static {
             payload = new byte[10 * 1024 * 1024];
             Arrays.fill(payload, (byte)0xFF);
+
+            record = new byte[100];
+            Arrays.fill(record, (byte)0xFF);
+
+            records = new byte[1000][];
+            Arrays.fill(records, record);
         }
 
         @Setup
@@ -32,6 +50,9 @@ public class GOSTBenchmark {
 
             try {
                 md512 = MessageDigest.getInstance("GOST3411-2012.512");
+                md256 = MessageDigest.getInstance("GOST3411-2012.256");
+                tree512 = MessageDigest.getInstance("GOST3411-2012.512-TREE");
+                pbkdf2 = SecretKeyFactory.getInstance("PBKDF2WithHMAC-GOST3411-2012-512");
             } catch (NoSuchAlgorithmException e) {
                 System.out.println(e.getMessage());
             }
@@ -42,4 +63,45 @@ public class GOSTBenchmark {
     public byte[] bench512(ThreadState state) {
          return state.md512.digest(state.payload);
     }
+
+    @Benchmark
+    public byte[] benchTree512(ThreadState state) {
+         return state.tree512.digest(state.payload);
+    }
+
+    /**
+     * Digests a short record into a preallocated buffer. Run with "-prof gc" to check
+     * that the finalization path does not allocate (gc.alloc.rate.norm should be ~0 B/op).
+     */
+    @Benchmark
+    public int bench512Into(ThreadState state) throws DigestException {
+        state.md512.update(state.record);
+        return state.md512.digest(state.out, 0, 64);
+    }
+
+    @Benchmark
+    public int bench256Into(ThreadState state) throws DigestException {
+        state.md256.update(state.record);
+        return state.md256.digest(state.out, 0, 32);
+    }
+
+    @Benchmark
+    public byte[] benchPBKDF2(ThreadState state) throws GeneralSecurityException {
+        PBEKeySpec spec = new PBEKeySpec("password".toCharArray(), state.record, 10000, 512);
+        return state.pbkdf2.generateSecret(spec).getEncoded();
+    }
+
+    @Benchmark
+    public byte[][] benchBatch512(ThreadState state) throws NoSuchAlgorithmException {
+        return GOSTBatch.digestAll(state.records, "GOST3411-2012.512");
+    }
+
+    @Benchmark
+    public byte[][] benchSequential512(ThreadState state) {
+        byte[][] digests = new byte[state.records.length][];
+        for (int i = 0; i < digests.length; i++) {
+            digests[i] = state.md512.digest(state.records[i]);
+        }
+        return digests;
+    }
 }
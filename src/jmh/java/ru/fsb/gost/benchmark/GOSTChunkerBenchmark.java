@@ -0,0 +1,62 @@
+package ru.fsb.gost.benchmark;
+
+import ru.fsb.gost.GOSTChunker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Chunking and hashing a 16 MB stream on the calling thread, with a hashing pool, and
+ * after first buffering the whole stream.
+ */
+@State(Scope.Benchmark)
+public class GOSTChunkerBenchmark {
+
+    private final byte[] content = new byte[16 * 1024 * 1024];
+    private final GOSTChunker chunker = new GOSTChunker();
+    private ExecutorService pool;
+
+    @Setup
+    public void setup() {
+        new Random(1).nextBytes(content);
+        pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long benchOnePass(Blackhole bh) throws IOException {
+        return chunker.chunk(new ByteArrayInputStream(content), chunk -> bh.consume(chunk.getDigest()));
+    }
+
+    @Benchmark
+    public long benchOnePassPool(Blackhole bh) throws IOException {
+        return chunker.chunk(new ByteArrayInputStream(content), pool, chunk -> bh.consume(chunk.getDigest()));
+    }
+
+    @Benchmark
+    public long benchBuffered(Blackhole bh) throws IOException {
+        InputStream in = new ByteArrayInputStream(content);
+        ByteArrayOutputStream whole = new ByteArrayOutputStream();
+        byte[] buf = new byte[64 * 1024];
+        for (int n; (n = in.read(buf)) > 0; ) {
+            whole.write(buf, 0, n);
+        }
+        return chunker.chunk(new ByteArrayInputStream(whole.toByteArray()), chunk -> bh.consume(chunk.getDigest()));
+    }
+}
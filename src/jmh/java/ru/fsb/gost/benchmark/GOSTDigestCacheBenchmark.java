@@ -0,0 +1,44 @@
+package ru.fsb.gost.benchmark;
+
+import ru.fsb.gost.GOSTDigestCache;
+import ru.fsb.gost.GOSTHash;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A validation path that hashes the same 300 certificate-sized inputs over and over:
+ * recomputing every digest against hits in GOSTDigestCache.
+ */
+@State(Scope.Benchmark)
+public class GOSTDigestCacheBenchmark {
+
+    private final byte[][] inputs = new byte[300][];
+    private GOSTDigestCache cache;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        Random random = new Random(1);
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new byte[1000 + random.nextInt(1000)];
+            random.nextBytes(inputs[i]);
+        }
+        cache = new GOSTDigestCache("GOST3411-2012.256", 1000, 4 * 1024 * 1024);
+    }
+
+    @Benchmark
+    public byte[] benchRecompute() {
+        return GOSTHash.hash256(inputs[ThreadLocalRandom.current().nextInt(inputs.length)]);
+    }
+
+    @Benchmark
+    public byte[] benchCached() {
+        return cache.digest(inputs[ThreadLocalRandom.current().nextInt(inputs.length)]);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.fsb.gost.benchmark;
+
+import ru.fsb.gost.GOSTProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.Security;
+
+/**
+ * One shared SecureRandom per algorithm, as applications use it. Run with -t 1, -t 2,
+ * ... -t max to compare the striped HMAC_DRBG with the platform generators.
+ */
+@State(Scope.Benchmark)
+public class GOSTDrbgBenchmark {
+
+    @Param({"HMAC_DRBG-GOST3411-2012-512", "SHA1PRNG"})
+    public String algorithm;
+
+    @Param({"32", "4096"})
+    public int size;
+
+    private SecureRandom random;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+        random = SecureRandom.getInstance(algorithm);
+    }
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        byte[] bytes;
+    }
+
+    @Benchmark
+    public byte[] benchNextBytes(Buffer buffer) {
+        if (buffer.bytes == null || buffer.bytes.length != size) {
+            buffer.bytes = new byte[size];
+        }
+        random.nextBytes(buffer.bytes);
+        return buffer.bytes;
+    }
+}
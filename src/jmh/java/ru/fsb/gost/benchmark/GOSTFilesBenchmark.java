@@ -0,0 +1,82 @@
+package ru.fsb.gost.benchmark;
+
+import ru.fsb.gost.GOSTFiles;
+import ru.fsb.gost.GOSTProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.Random;
+
+/**
+ * Compares memory-mapped file hashing against reading the file through an InputStream,
+ * both on the hashing thread and pipelined on a reader thread.
+ */
+public class GOSTFilesBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class FileState {
+        @Param({"67108864"})
+        public int fileSize;
+
+        public Path file;
+
+        @Setup
+        public void setup() throws IOException {
+            if (Security.getProvider("GOST") == null) {
+                Security.addProvider(new GOSTProvider());
+            }
+
+            byte[] content = new byte[fileSize];
+            new Random(0).nextBytes(content);
+            file = Files.createTempFile("gosthash", ".bin");
+            Files.write(file, content);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            Files.delete(file);
+        }
+    }
+
+    @Benchmark
+    public byte[] benchMapped(FileState state) throws IOException, NoSuchAlgorithmException {
+        return GOSTFiles.digest(state.file, "GOST3411-2012.512");
+    }
+
+    @Benchmark
+    public byte[] benchMappedPreload(FileState state) throws IOException, NoSuchAlgorithmException {
+        return GOSTFiles.digest(state.file, "GOST3411-2012.512", GOSTFiles.DEFAULT_WINDOW_SIZE, true);
+    }
+
+    @Benchmark
+    public byte[] benchStream(FileState state) throws IOException, NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance("GOST3411-2012.512");
+        byte[] buf = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(state.file)) {
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                md.update(buf, 0, n);
+            }
+        }
+        return md.digest();
+    }
+
+    @Benchmark
+    public byte[] benchStreamPipelined(FileState state) throws IOException, NoSuchAlgorithmException {
+        try (InputStream in = Files.newInputStream(state.file)) {
+            return GOSTFiles.digest(in, "GOST3411-2012.512");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.fsb.gost.benchmark;
+
+import ru.fsb.gost.GOSTHash;
+import ru.fsb.gost.GOSTProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+
+/**
+ * One digest per request: a fresh MessageDigest.getInstance against the GOSTHash
+ * facade. Run with -t 1, -t 2, ... -t max to see how each scales across threads.
+ */
+@State(Scope.Thread)
+public class GOSTHashBenchmark {
+
+    private final byte[] request = new byte[256];
+    private final byte[] out = new byte[64];
+
+    @Setup
+    public void setup() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    @Benchmark
+    public byte[] benchGetInstance512() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("GOST3411-2012.512").digest(request);
+    }
+
+    @Benchmark
+    public byte[] benchFacade512() {
+        return GOSTHash.hash512(request);
+    }
+
+    @Benchmark
+    public byte[] benchFacade512Into() {
+        GOSTHash.hash512(request, out, 0);
+        return out;
+    }
+}
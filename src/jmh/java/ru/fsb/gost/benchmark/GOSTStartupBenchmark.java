@@ -0,0 +1,36 @@
+package ru.fsb.gost.benchmark;
+
+import ru.fsb.gost.GOSTProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first digest in a fresh JVM, including class loading and table setup.
+ * Every fork measures exactly one cold invocation.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class GOSTStartupBenchmark {
+
+    @Benchmark
+    public byte[] firstDigest() throws NoSuchAlgorithmException {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+        return MessageDigest.getInstance("GOST3411-2012.512").digest(new byte[64]);
+    }
+}
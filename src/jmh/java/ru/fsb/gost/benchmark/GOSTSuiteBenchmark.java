@@ -0,0 +1,167 @@
+package ru.fsb.gost.benchmark;
+
+import ru.fsb.gost.GOSTProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message digests across sizes from empty to 64 MB, both variants and every way of
+ * feeding input. Byte-wise updates stop at 1 MB, where the per-call overhead they measure
+ * is already plain and 64 MB would take minutes per iteration. Digests go into a
+ * preallocated buffer, so with the gc profiler the allocation figures show the cost of
+ * hashing alone.
+ *
+ * One fork with 3 warmup and 5 measurement iterations of a second keeps a full pass at
+ * about 20 minutes per thread count, short enough for regression checks; pass -f, -wi
+ * and -i on the command line for more careful runs.
+ *
+ * main() runs the whole suite once per thread count (1, 2, 4, ... up to the number of
+ * cores) with the gc profiler and writes JSON results to gost-suite-t{threads}.json:
+ *
+ *     java -cp build/libs/gosthash-0.3-jmh.jar ru.fsb.gost.benchmark.GOSTSuiteBenchmark
+ *
+ * Parts of it run from the usual JMH command line as well, e.g. short messages only:
+ *
+ *     java -jar build/libs/gosthash-0.3-jmh.jar GOSTSuiteBenchmark -p size=0,1,64,100 -t 4 -rf json
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GOSTSuiteBenchmark {
+
+    @State(Scope.Thread)
+    public static class Input {
+        @Param({"0", "1", "32", "64", "100", "1024", "16384", "1048576", "67108864"})
+        public int size;
+
+        @Param({"GOST3411-2012.256", "GOST3411-2012.512"})
+        public String algorithm;
+
+        public MessageDigest md;
+        public final byte[] out = new byte[64];
+
+        public byte[] bytes;
+        public ByteBuffer heap;
+        public ByteBuffer direct;
+
+        @Setup
+        public void setup() throws NoSuchAlgorithmException {
+            if (Security.getProvider("GOST") == null) {
+                Security.addProvider(new GOSTProvider());
+            }
+            md = MessageDigest.getInstance(algorithm);
+
+            // The message is shared, every thread reads it through views of its own
+            ByteBuffer shared = message(size);
+            bytes = shared.array();
+            heap = ByteBuffer.wrap(bytes);
+            direct = DIRECT.duplicate();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ByteInput {
+        @Param({"0", "1", "32", "64", "100", "1024", "16384", "1048576"})
+        public int size;
+
+        @Param({"GOST3411-2012.256", "GOST3411-2012.512"})
+        public String algorithm;
+
+        public MessageDigest md;
+        public final byte[] out = new byte[64];
+        public byte[] bytes;
+
+        @Setup
+        public void setup() throws NoSuchAlgorithmException {
+            if (Security.getProvider("GOST") == null) {
+                Security.addProvider(new GOSTProvider());
+            }
+            md = MessageDigest.getInstance(algorithm);
+            bytes = message(size).array();
+        }
+    }
+
+    private static ByteBuffer SHARED;
+    private static ByteBuffer DIRECT;
+
+    private static synchronized ByteBuffer message(int size) {
+        if (SHARED == null || SHARED.capacity() != size) {
+            byte[] bytes = new byte[size];
+            new Random(size).nextBytes(bytes);
+            SHARED = ByteBuffer.wrap(bytes);
+            DIRECT = ByteBuffer.allocateDirect(size);
+            DIRECT.put(bytes);
+        }
+        return SHARED;
+    }
+
+    @Benchmark
+    public int bulk(Input input) throws DigestException {
+        input.md.update(input.bytes);
+        return input.md.digest(input.out, 0, 64);
+    }
+
+    @Benchmark
+    public int bytewise(ByteInput input) throws DigestException {
+        MessageDigest md = input.md;
+        for (byte b : input.bytes) {
+            md.update(b);
+        }
+        return md.digest(input.out, 0, 64);
+    }
+
+    @Benchmark
+    public int heapBuffer(Input input) throws DigestException {
+        input.heap.clear();
+        input.md.update(input.heap);
+        return input.md.digest(input.out, 0, 64);
+    }
+
+    @Benchmark
+    public int directBuffer(Input input) throws DigestException {
+        input.direct.clear();
+        input.md.update(input.direct);
+        return input.md.digest(input.out, 0, 64);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; ; threads = Math.min(2 * threads, cores)) {
+            new Runner(new OptionsBuilder()
+                    .include(GOSTSuiteBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("gost-suite-t" + threads + ".json")
+                    .build()).run();
+            if (threads == cores) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.fsb.gost.benchmark;
+
+import ru.fsb.gost.GOSTProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+
+/**
+ * Compares the lookup table layouts of the scalar engine on 1 MiB messages. The layout
+ * is fixed when the engine class initializes, so every parameter value runs in forks
+ * of its own and the properties are set before the first digest.
+ */
+@State(Scope.Benchmark)
+public class GOSTTableLayoutBenchmark {
+
+    @Param({"jagged", "flat", "direct"})
+    public String layout;
+
+    private final byte[] message = new byte[1024 * 1024];
+
+    private MessageDigest md;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        System.setProperty("ru.fsb.gost.engine", "scalar");
+        System.setProperty("ru.fsb.gost.tables", layout);
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+        md = MessageDigest.getInstance("GOST3411-2012.512");
+    }
+
+    @Benchmark
+    public byte[] bench512() {
+        return md.digest(message);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.fsb.gost.benchmark;
+
+import ru.fsb.gost.GOSTProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+
+/**
+ * Feeds a 4 KiB message through many small update() calls, as an encoder writing field
+ * by field does. A chunk size of 1 goes through update(byte), the others through
+ * update(byte[], int, int) and straddle word and block boundaries.
+ */
+@State(Scope.Benchmark)
+public class GOSTUpdateBenchmark {
+
+    @Param({"1", "8", "63", "65"})
+    public int chunk;
+
+    private final byte[] message = new byte[4096];
+
+    private MessageDigest md;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+        md = MessageDigest.getInstance("GOST3411-2012.512");
+    }
+
+    @Benchmark
+    public byte[] benchChunked512() {
+        if (chunk == 1) {
+            for (byte b : message) {
+                md.update(b);
+            }
+        } else {
+            for (int off = 0; off < message.length; off += chunk) {
+                md.update(message, off, Math.min(chunk, message.length - off));
+            }
+        }
+        return md.digest();
+    }
+
+    @Benchmark
+    public byte[] benchBulk512() {
+        return md.digest(message);
+    }
+}
@@ -1,7 +1,5 @@
 package ru.fsb.gost;
 
-import java.util.Arrays;
-
 public final class GOST3411_2012_256 extends GOSTDigest {
 
     private final static byte[] IV = {
@@ -16,11 +14,6 @@ public final class GOST3411_2012_256 extends GOSTDigest {
     };
 
     public GOST3411_2012_256() {
-        super(IV);
-    }
-
-    @Override
-    protected byte[] engineDigest() {
-        return Arrays.copyOfRange(super.engineDigest(), 32, 64);
+        super(IV, 32);
     }
 }
@@ -0,0 +1,8 @@
+package ru.fsb.gost;
+
+public final class GOST3411_2012_256_Tree extends GOSTTreeDigest {
+
+    public GOST3411_2012_256_Tree() {
+        super("GOST3411-2012.256", 32);
+    }
+}
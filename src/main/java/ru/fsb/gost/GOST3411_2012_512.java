@@ -14,6 +14,6 @@ public final class GOST3411_2012_512 extends GOSTDigest {
     };
 
     public GOST3411_2012_512() {
-        super(IV);
+        super(IV, 64);
     }
 }
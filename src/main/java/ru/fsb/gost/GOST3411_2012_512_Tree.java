@@ -0,0 +1,8 @@
+package ru.fsb.gost;
+
+public final class GOST3411_2012_512_Tree extends GOSTTreeDigest {
+
+    public GOST3411_2012_512_Tree() {
+        super("GOST3411-2012.512", 64);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.fsb.gost;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Digests many independent messages with one digest instance and no JCA dispatch.
+ *
+ * Interleaving the LPS steps of two messages in one loop was tried and measured
+ * slower than compressing them one after another: a single g_N already carries two
+ * independent LPS chains (the key schedule Ki and the state K), which the CPU overlaps
+ * on its own, and two full states no longer fit in registers. So messages are
+ * compressed in turn and the batch saves on per-message lookup and allocation instead.
+ */
+public final class GOSTBatch {
+
+    private GOSTBatch() {
+    }
+
+    /**
+     * @param messages messages to digest
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     * @return digests in the order of messages
+     */
+    public static byte[][] digestAll(byte[][] messages, String algorithm) throws NoSuchAlgorithmException {
+        return digestAll(Arrays.asList(messages), algorithm);
+    }
+
+    public static byte[][] digestAll(List<byte[]> messages, String algorithm) throws NoSuchAlgorithmException {
+        GOSTDigest digest = GOSTDigest.getInstance(algorithm);
+        byte[][] results = new byte[messages.size()][];
+
+        for (int i = 0; i < results.length; i++) {
+            byte[] message = messages.get(i);
+            digest.engineUpdate(message, 0, message.length);
+            results[i] = digest.engineDigest();
+        }
+
+        return results;
+    }
+
+    /**
+     * Writes the digests back to back into out starting at offset, without allocating.
+     *
+     * @return number of bytes written
+     */
+    public static int digestAll(List<byte[]> messages, String algorithm, byte[] out, int offset)
+            throws NoSuchAlgorithmException {
+        GOSTDigest digest = GOSTDigest.getInstance(algorithm);
+        int digestLength = digest.engineGetDigestLength();
+        int total = messages.size() * digestLength;
+        if (offset < 0) {
+            throw new IndexOutOfBoundsException("offset " + offset);
+        }
+        if (out.length - offset < total) {
+            throw new IllegalArgumentException("Output buffer too short: " + total + " bytes required");
+        }
+
+        for (int i = 0; i < messages.size(); i++, offset += digestLength) {
+            byte[] message = messages.get(i);
+            digest.engineUpdate(message, 0, message.length);
+            digest.finish(out, offset);
+        }
+
+        return total;
+    }
+}
@@ -0,0 +1,301 @@
+package ru.fsb.gost;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Content-defined chunking of a stream with a GOST3411-2012.256 digest per chunk, for
+ * deduplication.
+ *
+ * Boundaries are found with a gear rolling hash and normalized chunking (FastCDC): no
+ * cut before the minimum size, a stricter mask up to the average size, a looser one
+ * after it, and a forced cut at the maximum size. An insertion or deletion only changes
+ * the chunks around it. The gear table is fixed, so the same content is always cut the
+ * same way.
+ *
+ * The stream is read into a few large segments and chunks are hashed in place, where
+ * they were read: there is no copy per chunk and no second pass over the data. With an
+ * Executor the calling thread keeps reading and cutting while pool threads hash the
+ * chunks it has cut, each with its thread's GOSTHash digest; chunks are still delivered
+ * to the Listener in order, on the calling thread.
+ *
+ * Instances hold only the parameters and may be shared between threads.
+ */
+public final class GOSTChunker {
+
+    public final static int DEFAULT_MIN_SIZE = 2 * 1024;
+    public final static int DEFAULT_AVERAGE_SIZE = 8 * 1024;
+    public final static int DEFAULT_MAX_SIZE = 64 * 1024;
+
+    // Segments in use at once: one being cut while the others are hashed and delivered
+    private final static int SEGMENTS = 3;
+
+    private final static long[] GEAR = new long[256];
+
+    static {
+        // SplitMix64 from a fixed seed; changing it changes every chunk boundary
+        long x = 0x3411201200000000L;
+        for (int i = 0; i < GEAR.length; i++) {
+            long z = (x += 0x9e3779b97f4a7c15L);
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            GEAR[i] = z ^ (z >>> 31);
+        }
+    }
+
+    private final static Executor CALLER = new Executor() {
+        @Override
+        public void execute(Runnable task) {
+            task.run();
+        }
+    };
+
+    private final int minSize;
+    private final int averageSize;
+    private final int maxSize;
+    private final long strictMask;
+    private final long looseMask;
+    private final int segmentSize;
+
+    public GOSTChunker() {
+        this(DEFAULT_MIN_SIZE, DEFAULT_AVERAGE_SIZE, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param averageSize a power of two from 64 bytes to 1 GiB
+     * @param minSize at most averageSize
+     * @param maxSize at least averageSize
+     */
+    public GOSTChunker(int minSize, int averageSize, int maxSize) {
+        if (averageSize < 64 || averageSize > 1 << 30 || Integer.bitCount(averageSize) != 1) {
+            throw new IllegalArgumentException("Average size must be a power of two from 64 to 2^30: " + averageSize);
+        }
+        if (minSize < 0 || minSize > averageSize || maxSize < averageSize || maxSize > 1 << 30) {
+            throw new IllegalArgumentException("Sizes must satisfy 0 <= min <= average <= max <= 2^30: " +
+                    minSize + ", " + averageSize + ", " + maxSize);
+        }
+        this.minSize = minSize;
+        this.averageSize = averageSize;
+        this.maxSize = maxSize;
+
+        int bits = Integer.numberOfTrailingZeros(averageSize);
+        strictMask = -1L << (64 - bits - 1);
+        looseMask = -1L << (64 - bits + 1);
+        segmentSize = (int)Math.min(Integer.MAX_VALUE - 8, Math.max(GOSTFiles.DEFAULT_BUFFER_SIZE, 4L * maxSize));
+    }
+
+    /**
+     * Receives the chunks in stream order.
+     */
+    public interface Listener {
+        void chunk(Chunk chunk) throws IOException;
+    }
+
+    public static final class Chunk {
+        private final long offset;
+        private final byte[] digest;
+        private final ByteBuffer data;
+
+        Chunk(long offset, byte[] digest, ByteBuffer data) {
+            this.offset = offset;
+            this.digest = digest;
+            this.data = data;
+        }
+
+        /**
+         * @return the position of the chunk in the stream
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        public int getLength() {
+            return data.remaining();
+        }
+
+        /**
+         * @return the GOST3411-2012.256 digest of the chunk
+         */
+        public byte[] getDigest() {
+            return digest.clone();
+        }
+
+        /**
+         * @return the chunk's bytes, read-only and only valid until Listener.chunk returns
+         */
+        public ByteBuffer getData() {
+            return data.duplicate();
+        }
+    }
+
+    /**
+     * Chunks and hashes the stream on the calling thread.
+     *
+     * @return the number of bytes read
+     */
+    public long chunk(InputStream in, Listener listener) throws IOException {
+        return chunk(in, CALLER, listener);
+    }
+
+    /**
+     * Chunks the stream on the calling thread and hashes the chunks on executor.
+     *
+     * @return the number of bytes read
+     */
+    public long chunk(InputStream in, Executor executor, Listener listener) throws IOException {
+        ArrayDeque<Segment> free = new ArrayDeque<>();
+        ArrayDeque<Pending> pending = new ArrayDeque<>();
+        Segment segment = new Segment(new byte[segmentSize]);
+        int segments = 1;
+
+        long offset = 0;
+        int start = 0;
+        int limit = 0;
+        boolean eof = false;
+
+        try {
+            while (true) {
+                int n = in.read(segment.data, limit, segment.data.length - limit);
+                if (n < 0) {
+                    eof = true;
+                } else {
+                    limit += n;
+                }
+
+                // Until max bytes are buffered a cut may still need more input, and
+                // trying anyway would rescan the same bytes after every short read
+                while (eof || limit - start >= maxSize) {
+                    int len = cut(segment.data, start, limit - start, eof);
+                    if (len == 0) {
+                        break;
+                    }
+                    Pending chunk = new Pending(segment, start, len, offset);
+                    segment.chunks++;
+                    pending.add(chunk);
+                    executor.execute(chunk);
+                    start += len;
+                    offset += len;
+                }
+
+                while (!pending.isEmpty() && pending.peek().isDone()) {
+                    deliver(pending.poll(), listener, free);
+                }
+                if (eof) {
+                    break;
+                }
+
+                if (segment.data.length - limit < maxSize) {
+                    // Carry the uncut tail over to another segment and let this one go
+                    // once its chunks are delivered
+                    Segment next = free.poll();
+                    while (next == null) {
+                        if (segments < SEGMENTS) {
+                            next = new Segment(new byte[segmentSize]);
+                            segments++;
+                        } else {
+                            // The other segments are retired, and wait for their chunks
+                            deliver(pending.poll(), listener, free);
+                            next = free.poll();
+                        }
+                    }
+                    next.retired = false;
+                    System.arraycopy(segment.data, start, next.data, 0, limit - start);
+                    limit -= start;
+                    start = 0;
+                    segment.retired = true;
+                    if (segment.chunks == 0) {
+                        free.add(segment);
+                    }
+                    segment = next;
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                deliver(pending.poll(), listener, free);
+            }
+            return offset;
+        } finally {
+            for (Pending chunk : pending) {
+                chunk.cancel(false);
+            }
+        }
+    }
+
+    private static void deliver(Pending chunk, Listener listener, ArrayDeque<Segment> free) throws IOException {
+        byte[] digest;
+        try {
+            digest = chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while hashing", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to hash chunk", e.getCause());
+        }
+
+        Segment segment = chunk.segment;
+        ByteBuffer data = ByteBuffer.wrap(segment.data, chunk.start, chunk.length).slice().asReadOnlyBuffer();
+        listener.chunk(new Chunk(chunk.offset, digest, data));
+        if (--segment.chunks == 0 && segment.retired) {
+            free.add(segment);
+        }
+    }
+
+    /**
+     * @return the length of the chunk at offset, or 0 if more input is needed to find its end
+     */
+    int cut(byte[] buf, int offset, int available, boolean eof) {
+        if (available <= minSize) {
+            return eof ? available : 0;
+        }
+        int normal = Math.min(averageSize, available);
+        int end = Math.min(maxSize, available);
+
+        long fp = 0;
+        int i = minSize;
+        for (; i < normal; i++) {
+            fp = (fp << 1) + GEAR[buf[offset + i] & 0xff];
+            if ((fp & strictMask) == 0) {
+                return i + 1;
+            }
+        }
+        for (; i < end; i++) {
+            fp = (fp << 1) + GEAR[buf[offset + i] & 0xff];
+            if ((fp & looseMask) == 0) {
+                return i + 1;
+            }
+        }
+        return end == maxSize || eof ? end : 0;
+    }
+
+    private static final class Segment {
+        final byte[] data;
+        // Chunks cut from this segment and not yet delivered
+        int chunks;
+        // Set once cutting has moved on to another segment
+        boolean retired;
+
+        Segment(byte[] data) {
+            this.data = data;
+        }
+    }
+
+    private static final class Pending extends FutureTask<byte[]> {
+        final Segment segment;
+        final int start;
+        final int length;
+        final long offset;
+
+        Pending(final Segment segment, final int start, final int length, long offset) {
+            super(() -> GOSTHash.hash256(segment.data, start, length));
+            this.segment = segment;
+            this.start = start;
+            this.length = length;
+            this.offset = offset;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package ru.fsb.gost;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes GOST3411-2012 digests of inputs that are hashed again and again, such as
+ * certificates and CRLs on a validation path.
+ *
+ * Entries are looked up by a cheap 64-bit fingerprint of the content and its length,
+ * and a hit is only returned after the cached copy of the input compares equal byte for
+ * byte, so a fingerprint collision or a later change to the caller's array can never
+ * produce a wrong digest. The input is copied once, on a miss, and the digest is
+ * computed from that copy. Comparing is a small fraction of the cost of hashing.
+ *
+ * The cache is bounded both by entries and by the total length of the cached inputs.
+ * It is split into independently locked segments selected by fingerprint, so
+ * concurrent lookups rarely wait for each other; hashing on a miss runs outside the
+ * locks. Both bounds apply to the cache as a whole and not per segment, so it does
+ * hold maxEntries inputs, and any input of up to maxBytes is cached. Once a miss takes
+ * the cache over a bound, the least recently used entries of its segment are evicted
+ * first, then those of the other segments in turn, so eviction is least recently used
+ * per segment rather than across the cache. The bounds hold whenever no miss is being
+ * inserted; concurrent misses may exceed them for as long as they take to evict.
+ */
+public final class GOSTDigestCache {
+
+    private final int digestLength;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Segment[] segments;
+
+    private final AtomicInteger entries = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     * @param maxEntries maximum number of cached digests
+     * @param maxBytes maximum total length of the cached inputs; longer inputs are hashed and not cached
+     */
+    public GOSTDigestCache(String algorithm, int maxEntries, long maxBytes) throws NoSuchAlgorithmException {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Bounds must be positive: " + maxEntries + ", " + maxBytes);
+        }
+        digestLength = GOSTDigest.getInstance(algorithm).engineGetDigestLength();
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+
+        int n = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1),
+                Integer.highestOneBit(maxEntries));
+        segments = new Segment[n];
+        for (int i = 0; i < n; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    public byte[] digest(byte[] message) {
+        return digest(message, 0, message.length);
+    }
+
+    public byte[] digest(byte[] message, int offset, int len) {
+        return lookup(message, offset, len).clone();
+    }
+
+    /**
+     * Writes the digest of message to out at outOffset, without allocating on a hit.
+     */
+    public void digest(byte[] message, byte[] out, int outOffset) {
+        if (outOffset < 0 || outOffset > out.length - digestLength) {
+            throw new IndexOutOfBoundsException("Output buffer too short: " + digestLength + " bytes required");
+        }
+        System.arraycopy(lookup(message, 0, message.length), 0, out, outOffset, digestLength);
+    }
+
+    private byte[] lookup(byte[] message, int offset, int len) {
+        if (offset < 0 || len < 0 || offset > message.length - len) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + len + ", array " + message.length);
+        }
+        long fp = fingerprint(message, offset, len);
+        int index = (int)(fp >>> 40) & (segments.length - 1);
+        Segment segment = segments[index];
+
+        byte[] digest = segment.find(new Key(fp, message, offset, len, null));
+        if (digest != null) {
+            hits.increment();
+            return digest;
+        }
+        misses.increment();
+
+        byte[] copy = Arrays.copyOfRange(message, offset, offset + len);
+        digest = digestLength == 64 ? GOSTHash.hash512(copy) : GOSTHash.hash256(copy);
+        if (len <= maxBytes) {
+            evict(index, segment.insert(new Key(fp, copy, 0, len, digest)));
+        }
+        return digest;
+    }
+
+    /**
+     * Evicts from the segment at index, then from the following ones, until the cache
+     * is within its bounds. Only one segment is locked at a time.
+     */
+    private void evict(int index, Key inserted) {
+        for (int i = 0; i < segments.length && overLimit(); ) {
+            if (!segments[(index + i) & (segments.length - 1)].evictEldest(inserted)) {
+                i++;
+            }
+        }
+    }
+
+    private boolean overLimit() {
+        return entries.get() > maxEntries || bytes.get() > maxBytes;
+    }
+
+    /**
+     * Word-wise multiply-xor hash; not collision resistant, which hits do not rely on.
+     */
+    static long fingerprint(byte[] message, int offset, int len) {
+        long h = len * 0x9e3779b97f4a7c15L;
+        int i = offset;
+        int end = offset + len;
+        for (; i <= end - 8; i += 8) {
+            h = (h ^ GOSTDigest.wordAt(message, i)) * 0xbf58476d1ce4e5b9L;
+            h ^= h >>> 31;
+        }
+        for (; i < end; i++) {
+            h = (h ^ (message[i] & 0xFF)) * 0x94d049bb133111ebL;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        return h ^ (h >>> 29);
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return hits / (hits + misses), or 0 before the first lookup
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double)h / total;
+    }
+
+    public int size() {
+        return entries.get();
+    }
+
+    /**
+     * Drops all entries; the statistics are kept.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private static final class Key {
+        final long fingerprint;
+        final byte[] data;
+        final int offset;
+        final int length;
+        // The digest of data; null in a lookup probe
+        final byte[] digest;
+
+        Key(long fingerprint, byte[] data, int offset, int length, byte[] digest) {
+            this.fingerprint = fingerprint;
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+            this.digest = digest;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int)fingerprint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)o;
+            if (fingerprint != other.fingerprint || length != other.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (data[offset + i] != other.data[other.offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final class Segment {
+        // Access-ordered, so iteration starts at the least recently used entry. Every
+        // key maps to itself, which tells which instance of equal keys is stored.
+        private final LinkedHashMap<Key, Key> map = new LinkedHashMap<>(16, 0.75f, true);
+
+        synchronized byte[] find(Key probe) {
+            Key stored = map.get(probe);
+            return stored == null ? null : stored.digest;
+        }
+
+        /**
+         * @return the key now stored for this input, which is another instance if a
+         *         concurrent miss inserted the same input first
+         */
+        synchronized Key insert(Key key) {
+            Key stored = map.putIfAbsent(key, key);
+            if (stored != null) {
+                return stored;
+            }
+            entries.incrementAndGet();
+            bytes.addAndGet(key.length);
+            return key;
+        }
+
+        /**
+         * Evicts the least recently used entry other than keep, if the cache is still
+         * over a bound.
+         *
+         * @return false if there was nothing to evict here
+         */
+        synchronized boolean evictEldest(Key keep) {
+            if (!overLimit()) {
+                return true;
+            }
+            for (Iterator<Key> it = map.keySet().iterator(); it.hasNext(); ) {
+                Key key = it.next();
+                if (key != keep) {
+                    it.remove();
+                    entries.decrementAndGet();
+                    bytes.addAndGet(-key.length);
+                    evictions.increment();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void clear() {
+            for (Key key : map.keySet()) {
+                entries.decrementAndGet();
+                bytes.addAndGet(-key.length);
+            }
+            map.clear();
+        }
+    }
+}
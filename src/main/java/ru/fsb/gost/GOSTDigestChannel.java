@@ -0,0 +1,83 @@
+package ru.fsb.gost;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A WritableByteChannel that hashes what is written to it. Without a target it is a
+ * pure sink that consumes every buffer; with a target only the bytes the target
+ * actually accepted are hashed, so partial writes keep the digest in step. Buffers
+ * reach GOSTDigest as they are, direct buffers included.
+ */
+public class GOSTDigestChannel implements WritableByteChannel {
+
+    private final WritableByteChannel target;
+    private final GOSTDigest digest;
+    private boolean open = true;
+
+    /**
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     */
+    public GOSTDigestChannel(String algorithm) throws NoSuchAlgorithmException {
+        this(null, algorithm);
+    }
+
+    /**
+     * @param target channel to write to, or null for a sink
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     */
+    public GOSTDigestChannel(WritableByteChannel target, String algorithm) throws NoSuchAlgorithmException {
+        this.target = target;
+        this.digest = GOSTDigest.getInstance(algorithm);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+
+        if (target == null) {
+            int n = src.remaining();
+            digest.engineUpdate(src);
+            return n;
+        }
+
+        int pos = src.position();
+        int n = target.write(src);
+        if (n > 0) {
+            ByteBuffer written = src.duplicate();
+            written.limit(pos + n);
+            written.position(pos);
+            digest.engineUpdate(written);
+        }
+        return n;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        open = false;
+        if (target != null) {
+            target.close();
+        }
+    }
+
+    public int getDigestLength() {
+        return digest.engineGetDigestLength();
+    }
+
+    /**
+     * @return the digest of the bytes written so far; the hash starts over afterwards
+     */
+    public byte[] digest() {
+        return digest.engineDigest();
+    }
+}
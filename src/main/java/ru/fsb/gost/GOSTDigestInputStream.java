@@ -0,0 +1,82 @@
+package ru.fsb.gost;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hashes everything read through it. Unlike java.security.DigestInputStream, bytes
+ * passed over by skip() are read and hashed as well, so the digest always covers the
+ * whole stream, and mark/reset is not supported since it would hash data twice.
+ */
+public class GOSTDigestInputStream extends FilterInputStream {
+
+    private final GOSTDigest digest;
+
+    /**
+     * @param in stream to read from
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     */
+    public GOSTDigestInputStream(InputStream in, String algorithm) throws NoSuchAlgorithmException {
+        super(in);
+        digest = GOSTDigest.getInstance(algorithm);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            digest.engineUpdate((byte)b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            digest.engineUpdate(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buf = new byte[(int)Math.min(Math.max(n, 0), 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int r = read(buf, 0, (int)Math.min(n - skipped, buf.length));
+            if (r == -1) {
+                break;
+            }
+            skipped += r;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    public int getDigestLength() {
+        return digest.engineGetDigestLength();
+    }
+
+    /**
+     * @return the digest of the bytes read so far; the hash starts over afterwards
+     */
+    public byte[] digest() {
+        return digest.engineDigest();
+    }
+}
@@ -0,0 +1,48 @@
+package ru.fsb.gost;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hashes everything written through it, e.g. to digest an upload while it is stored.
+ * Data is hashed once the underlying stream has accepted it, and array writes are
+ * passed on as a whole rather than byte by byte as FilterOutputStream does.
+ */
+public class GOSTDigestOutputStream extends FilterOutputStream {
+
+    private final GOSTDigest digest;
+
+    /**
+     * @param out stream to write to
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     */
+    public GOSTDigestOutputStream(OutputStream out, String algorithm) throws NoSuchAlgorithmException {
+        super(out);
+        digest = GOSTDigest.getInstance(algorithm);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        digest.engineUpdate((byte)b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        digest.engineUpdate(b, off, len);
+    }
+
+    public int getDigestLength() {
+        return digest.engineGetDigestLength();
+    }
+
+    /**
+     * @return the digest of the bytes written so far; the hash starts over afterwards
+     */
+    public byte[] digest() {
+        return digest.engineDigest();
+    }
+}
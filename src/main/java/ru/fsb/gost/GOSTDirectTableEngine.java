@@ -0,0 +1,48 @@
+package ru.fsb.gost;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * GOSTScalarEngine reading the T tables from off-heap memory: the flat layout of
+ * GOSTFlatTableEngine in a direct buffer of native byte order.
+ *
+ * The garbage collector never moves the tables. Direct buffers come without any
+ * cache line alignment guarantee; start the JVM with -Dsun.nio.PageAlignDirectMemory=true
+ * to put them on a page boundary.
+ */
+final class GOSTDirectTableEngine extends GOSTScalarEngine {
+
+    private final static ByteBuffer TABLE =
+            ByteBuffer.allocateDirect(8 * 256 * 8).order(ByteOrder.nativeOrder());
+
+    static {
+        long[] flat = GOSTFlatTableEngine.TABLE;
+        for (int i = 0; i < flat.length; i++) {
+            TABLE.putLong(i << 3, flat[i]);
+        }
+    }
+
+    @Override
+    GOSTEngine copy() {
+        return new GOSTDirectTableEngine();
+    }
+
+    @Override
+    void F(long[] V) {
+        final ByteBuffer t = TABLE;
+        long v0 = V[0], v1 = V[1], v2 = V[2], v3 = V[3];
+        long v4 = V[4], v5 = V[5], v6 = V[6], v7 = V[7];
+
+        for (int i = 0, s = 0; i < 8; i++, s += 8) {
+            V[i] = t.getLong(         ((int)(v7 >>> s) & 0xFF) << 3)
+                 ^ t.getLong((0x100 | ((int)(v6 >>> s) & 0xFF)) << 3)
+                 ^ t.getLong((0x200 | ((int)(v5 >>> s) & 0xFF)) << 3)
+                 ^ t.getLong((0x300 | ((int)(v4 >>> s) & 0xFF)) << 3)
+                 ^ t.getLong((0x400 | ((int)(v3 >>> s) & 0xFF)) << 3)
+                 ^ t.getLong((0x500 | ((int)(v2 >>> s) & 0xFF)) << 3)
+                 ^ t.getLong((0x600 | ((int)(v1 >>> s) & 0xFF)) << 3)
+                 ^ t.getLong((0x700 | ((int)(v0 >>> s) & 0xFF)) << 3);
+        }
+    }
+}
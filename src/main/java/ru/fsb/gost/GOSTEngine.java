@@ -0,0 +1,88 @@
+package ru.fsb.gost;
+
+import java.util.Arrays;
+
+/**
+ * The compression function g_N of GOST R 34.11-2012 on 64-bit lanes (see GOSTDigest
+ * for the lane layout).
+ *
+ * The pure Java GOSTScalarEngine is always available. GOSTVectorEngine is built from
+ * a separate source set against jdk.incubator.vector and is only used when the system
+ * property "ru.fsb.gost.engine" is "vector", the JVM runs with "--add-modules
+ * jdk.incubator.vector" and the hardware has 512-bit vectors. It is not faster than the
+ * flat table layout, so it is not picked by default, which also spares applications the
+ * incubator module warning.
+ *
+ * The scalar engine reads its lookup tables in one of three layouts, chosen by the
+ * system property "ru.fsb.gost.tables": "jagged" (long[8][256], GOSTScalarEngine),
+ * "flat" (one long[2048], the default) or "direct" (off-heap ByteBuffer).
+ *
+ * Engines keep scratch buffers, so every digest owns its own instance.
+ */
+abstract class GOSTEngine {
+
+    private final static String VECTOR_ENGINE = "ru.fsb.gost.GOSTVectorEngine";
+
+    private final static GOSTEngine PROTOTYPE = select();
+
+    /**
+     * Replaces h with g_N(h, m).
+     */
+    abstract void g_N(long[] h, long[] N, long[] m);
+
+    /**
+     * @return a new engine of the same kind with its own scratch buffers
+     */
+    abstract GOSTEngine copy();
+
+    static GOSTEngine newInstance() {
+        return PROTOTYPE.copy();
+    }
+
+    private static GOSTEngine select() {
+        GOSTEngine scalar = scalar(System.getProperty("ru.fsb.gost.tables", "flat"));
+        if (!"vector".equals(System.getProperty("ru.fsb.gost.engine"))) {
+            return scalar;
+        }
+
+        GOSTEngine vector;
+        try {
+            vector = (GOSTEngine)Class.forName(VECTOR_ENGINE).getDeclaredConstructor().newInstance();
+        } catch (Exception | LinkageError e) {
+            // Not packaged, module not resolved or no 512-bit vectors
+            return scalar;
+        }
+
+        return agree(scalar, vector) ? vector : scalar;
+    }
+
+    private static GOSTEngine scalar(String layout) {
+        switch (layout) {
+            case "jagged":
+                return new GOSTScalarEngine();
+            case "direct":
+                return new GOSTDirectTableEngine();
+            default:
+                return new GOSTFlatTableEngine();
+        }
+    }
+
+    /**
+     * One-time self-check of an alternative engine against the scalar one.
+     */
+    private static boolean agree(GOSTEngine expected, GOSTEngine actual) {
+        long[] h1 = new long[8];
+        long[] N = new long[8];
+        long[] m = new long[8];
+        for (int i = 0; i < 8; i++) {
+            h1[i] = 0x0123456789ABCDEFL * (i + 1);
+            N[i] = 0x0F1E2D3C4B5A6978L * (i + 3);
+            m[i] = 0x7766554433221100L ^ (i * 0x1111111111111111L);
+        }
+        long[] h2 = h1.clone();
+
+        expected.g_N(h1, N, m);
+        actual.g_N(h2, N, m);
+        return Arrays.equals(h1, h2);
+    }
+}
@@ -0,0 +1,210 @@
+package ru.fsb.gost;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashes files by mapping them into memory window by window and feeding the mapped
+ * regions straight into the GOSTDigest block loop, so the data is never copied into
+ * the Java heap.
+ *
+ * Streams that cannot be mapped are hashed with a pipelined reader instead: a second
+ * thread fills one buffer while the caller's thread compresses the other.
+ */
+public final class GOSTFiles {
+
+    public final static int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    public final static int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    // Wait before reading again after a read returned no bytes
+    private final static long EMPTY_READ_PAUSE_NANOS = 1000 * 1000;
+
+    private GOSTFiles() {
+    }
+
+    /**
+     * @param path file to hash
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     */
+    public static byte[] digest(Path path, String algorithm) throws IOException, NoSuchAlgorithmException {
+        return digest(path, algorithm, DEFAULT_WINDOW_SIZE, false);
+    }
+
+    /**
+     * @param path file to hash
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     * @param windowSize size of a mapped region, must be a positive multiple of 64
+     * @param preload the JDK has no madvise(MADV_SEQUENTIAL), so when set each window is
+     *                loaded with MappedByteBuffer.load() before hashing, which lets the OS
+     *                read it ahead in one go instead of faulting page by page
+     */
+    public static byte[] digest(Path path, String algorithm, int windowSize, boolean preload)
+            throws IOException, NoSuchAlgorithmException {
+        if (windowSize <= 0 || windowSize % 64 != 0) {
+            throw new IllegalArgumentException("Window size must be a positive multiple of 64: " + windowSize);
+        }
+
+        GOSTDigest digest = GOSTDigest.getInstance(algorithm);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long pos = 0; pos < size; pos += windowSize) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, pos,
+                        Math.min(windowSize, size - pos));
+                if (preload) {
+                    window.load();
+                }
+                digest.engineUpdate(window);
+            }
+        }
+
+        return digest.engineDigest();
+    }
+
+    /**
+     * @param in stream to hash up to its end; it is not closed
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     */
+    public static byte[] digest(InputStream in, String algorithm) throws IOException, NoSuchAlgorithmException {
+        return digest(in, algorithm, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Reads the stream on a separate daemon thread into two buffers of bufferSize bytes
+     * and hashes each on the calling thread as soon as it is full, so waiting for the
+     * next read overlaps with the compression of the previous one. If hashing ends
+     * early, by an error or an interrupt, the reader stops before its next read.
+     *
+     * @param in stream to hash up to its end; it is not closed
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     * @param bufferSize size of each of the two buffers
+     */
+    public static byte[] digest(InputStream in, String algorithm, int bufferSize)
+            throws IOException, NoSuchAlgorithmException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+
+        GOSTDigest digest = GOSTDigest.getInstance(algorithm);
+
+        BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(2);
+        // Room for both buffers and the end or error marker, so the reader never blocks on it
+        BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(3);
+        free.add(new Chunk(bufferSize));
+        free.add(new Chunk(bufferSize));
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Thread reader = new Thread(() -> fill(in, free, filled, cancelled), "gosthash-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            for (;;) {
+                Chunk chunk = filled.take();
+                if (chunk.error instanceof IOException) {
+                    throw (IOException)chunk.error;
+                }
+                if (chunk.error instanceof RuntimeException) {
+                    throw (RuntimeException)chunk.error;
+                }
+                if (chunk.error instanceof Error) {
+                    throw (Error)chunk.error;
+                }
+                if (chunk.error != null) {
+                    throw new IOException("Failed to read the stream", chunk.error);
+                }
+                if (chunk.length < 0) {
+                    break;
+                }
+                digest.engineUpdate(chunk.data, 0, chunk.length);
+                free.put(chunk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while hashing the stream");
+        } finally {
+            // Stops the reader before its next read, or at its next handoff, if hashing
+            // ended early
+            cancelled.set(true);
+            reader.interrupt();
+        }
+
+        return digest.engineDigest();
+    }
+
+    private static void fill(InputStream in, BlockingQueue<Chunk> free, BlockingQueue<Chunk> filled,
+                             AtomicBoolean cancelled) {
+        try {
+            for (;;) {
+                Chunk chunk = free.take();
+                int n = 0;
+                int r = 0;
+                while (n < chunk.data.length) {
+                    if (cancelled.get()) {
+                        return;
+                    }
+                    r = in.read(chunk.data, n, chunk.data.length - n);
+                    if (r == -1) {
+                        break;
+                    }
+                    if (r == 0) {
+                        // Nothing available yet; a tight loop would only burn a core
+                        LockSupport.parkNanos(EMPTY_READ_PAUSE_NANOS);
+                    }
+                    n += r;
+                }
+
+                chunk.length = n;
+                if (n > 0) {
+                    filled.put(chunk);
+                }
+                if (r == -1) {
+                    filled.put(Chunk.end());
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // The hashing side has given up
+        } catch (Throwable e) {
+            // Errors too, or the hashing side would wait for the next chunk forever
+            filled.offer(Chunk.failed(e));
+        }
+    }
+
+    /**
+     * A buffer handed between the reader and the hashing thread, or the end of input
+     * (negative length) or a read failure.
+     */
+    private static final class Chunk {
+        final byte[] data;
+        int length;
+        Throwable error;
+
+        Chunk(int size) {
+            data = new byte[size];
+        }
+
+        static Chunk end() {
+            Chunk chunk = new Chunk(0);
+            chunk.length = -1;
+            return chunk;
+        }
+
+        static Chunk failed(Throwable error) {
+            Chunk chunk = new Chunk(0);
+            chunk.error = error;
+            return chunk;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.fsb.gost;
+
+import static ru.fsb.gost.GOSTDigest.T;
+
+/**
+ * GOSTScalarEngine reading the T tables from one flat long[2048], table k at offset
+ * 256 * k. The 16 KiB are contiguous in a single object, so the lookups need no load
+ * of a row reference and a single bounds check covers every index.
+ */
+final class GOSTFlatTableEngine extends GOSTScalarEngine {
+
+    final static long[] TABLE = new long[8 * 256];
+
+    static {
+        for (int k = 0; k < 8; k++) {
+            System.arraycopy(T[k], 0, TABLE, k * 256, 256);
+        }
+    }
+
+    @Override
+    GOSTEngine copy() {
+        return new GOSTFlatTableEngine();
+    }
+
+    @Override
+    void F(long[] V) {
+        final long[] t = TABLE;
+        long v0 = V[0], v1 = V[1], v2 = V[2], v3 = V[3];
+        long v4 = V[4], v5 = V[5], v6 = V[6], v7 = V[7];
+
+        for (int i = 0, s = 0; i < 8; i++, s += 8) {
+            V[i] = t[        ((int)(v7 >>> s) & 0xFF)]
+                 ^ t[0x100 | ((int)(v6 >>> s) & 0xFF)]
+                 ^ t[0x200 | ((int)(v5 >>> s) & 0xFF)]
+                 ^ t[0x300 | ((int)(v4 >>> s) & 0xFF)]
+                 ^ t[0x400 | ((int)(v3 >>> s) & 0xFF)]
+                 ^ t[0x500 | ((int)(v2 >>> s) & 0xFF)]
+                 ^ t[0x600 | ((int)(v1 >>> s) & 0xFF)]
+                 ^ t[0x700 | ((int)(v0 >>> s) & 0xFF)];
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.fsb.gost;
+
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.KeySpec;
+import java.util.Arrays;
+import javax.crypto.SecretKey;
+
+/**
+ * HKDF (RFC 5869) on GOST R 34.11-2012 HMAC, shared by HKDF_GOST3411_2012_256 and
+ * HKDF_GOST3411_2012_512:
+ *
+ * PRK = HMAC(salt, IKM)
+ * T(0) = empty, T(i) = HMAC(PRK, T(i - 1) | info | i), OKM = T(1) | T(2) | ...
+ *
+ * Extract and Expand each keep their own HMAC, so a fixed salt keeps its key pad
+ * midstates across calls, and all the blocks of one expansion run from the PRK
+ * midstates computed once.
+ */
+abstract class GOSTHKDF extends GOSTKeyDerivation {
+
+    private final KeyedMac extract;
+    private final KeyedMac expand;
+    private final int hashLength;
+
+    // T(i)
+    private final byte[] t;
+
+    GOSTHKDF(String algorithm, GOSTHMac extract, GOSTHMac expand) {
+        super(algorithm);
+        this.extract = new KeyedMac(extract);
+        this.expand = new KeyedMac(expand);
+        hashLength = this.extract.length();
+        t = new byte[hashLength];
+    }
+
+    @Override
+    protected SecretKey engineGenerateSecret(KeySpec keySpec) throws InvalidKeySpecException {
+        if (!(keySpec instanceof HKDFKeySpec)) {
+            throw new InvalidKeySpecException("Only HKDFKeySpec is accepted");
+        }
+        HKDFKeySpec spec = (HKDFKeySpec)keySpec;
+        int len = spec.getKeyLength() / 8;
+        if (len > 255 * hashLength) {
+            throw new InvalidKeySpecException(algorithm + " derives at most " + 255 * hashLength + " bytes");
+        }
+        if (!spec.isExtract() && spec.prk().length < hashLength) {
+            throw new InvalidKeySpecException("PRK must be at least " + hashLength + " bytes");
+        }
+        return secret(derive(spec, len));
+    }
+
+    synchronized byte[] derive(HKDFKeySpec spec, int len) {
+        try {
+            if (!spec.isExpand()) {
+                return extract(spec.salt(), spec.ikm());
+            }
+            if (!spec.isExtract()) {
+                return expand(spec.prk(), spec.info(), len);
+            }
+            byte[] key = extract(spec.salt(), spec.ikm());
+            try {
+                return expand(key, spec.info(), len);
+            } finally {
+                Arrays.fill(key, (byte)0);
+            }
+        } finally {
+            Arrays.fill(t, (byte)0);
+        }
+    }
+
+    private byte[] extract(byte[] salt, byte[] ikm) {
+        // An empty salt and HashLen zero bytes are the same HMAC key
+        GOSTHMac mac = extract.with(salt);
+        mac.engineUpdate(ikm, 0, ikm.length);
+        byte[] out = new byte[hashLength];
+        mac.doFinal(out, 0);
+        return out;
+    }
+
+    private byte[] expand(byte[] key, byte[] info, int len) {
+        GOSTHMac mac = expand.with(key);
+        byte[] out = new byte[len];
+
+        for (int i = 1, off = 0; off < len; i++, off += hashLength) {
+            if (i > 1) {
+                mac.engineUpdate(t, 0, hashLength);
+            }
+            mac.engineUpdate(info, 0, info.length);
+            mac.engineUpdate((byte)i);
+            mac.doFinal(t, 0);
+            System.arraycopy(t, 0, out, off, Math.min(hashLength, len - off));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,157 @@
+package ru.fsb.gost;
+
+import java.nio.ByteBuffer;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+import javax.crypto.MacSpi;
+
+/**
+ * HMAC (RFC 2104, RFC 7836) over GOST R 34.11-2012.
+ *
+ * The digest states after absorbing the inner and outer key pads are computed once
+ * at init and restored on every reset and doFinal, so a message costs only its own
+ * blocks plus the two finalizations.
+ */
+public class GOSTHMac extends MacSpi implements Cloneable {
+
+    private final static int BLOCK_SIZE = 64;
+
+    private GOSTDigest digest;
+    private GOSTDigest.Midstate inner;
+    private GOSTDigest.Midstate outer;
+
+    // Temporary buffer for the inner hash
+    private byte[] innerHash = new byte[64];
+
+    GOSTHMac(GOSTDigest digest) {
+        this.digest = digest;
+    }
+
+    @Override
+    protected int engineGetMacLength() {
+        return digest.engineGetDigestLength();
+    }
+
+    @Override
+    protected void engineInit(Key key, AlgorithmParameterSpec params)
+            throws InvalidKeyException, InvalidAlgorithmParameterException {
+        if (params != null) {
+            throw new InvalidAlgorithmParameterException("HMAC does not use parameters");
+        }
+        if (key == null) {
+            throw new InvalidKeyException("Missing key");
+        }
+        byte[] k = key.getEncoded();
+        if (k == null) {
+            throw new InvalidKeyException("Key encoding is not available");
+        }
+        init(k);
+        Arrays.fill(k, (byte)0);
+    }
+
+    /**
+     * Keys the MAC with raw key bytes, for use by other services of the provider.
+     */
+    void init(byte[] key) {
+        byte[] k = key;
+        if (k.length > BLOCK_SIZE) {
+            digest.engineReset();
+            digest.engineUpdate(k, 0, k.length);
+            k = digest.engineDigest();
+        }
+
+        byte[] pad = new byte[BLOCK_SIZE];
+
+        for (int i = 0; i < k.length; i++) {
+            pad[i] = (byte)(k[i] ^ 0x36);
+        }
+        Arrays.fill(pad, k.length, BLOCK_SIZE, (byte)0x36);
+        digest.engineReset();
+        digest.engineUpdate(pad, 0, BLOCK_SIZE);
+        inner = digest.snapshot();
+
+        for (int i = 0; i < k.length; i++) {
+            pad[i] = (byte)(k[i] ^ 0x5c);
+        }
+        Arrays.fill(pad, k.length, BLOCK_SIZE, (byte)0x5c);
+        digest.engineReset();
+        digest.engineUpdate(pad, 0, BLOCK_SIZE);
+        outer = digest.snapshot();
+
+        Arrays.fill(pad, (byte)0);
+        if (k != key) {
+            Arrays.fill(k, (byte)0);
+        }
+        digest.restore(inner);
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+        digest.engineUpdate(input);
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+        digest.engineUpdate(input, offset, len);
+    }
+
+    @Override
+    protected void engineUpdate(ByteBuffer input) {
+        digest.engineUpdate(input);
+    }
+
+    @Override
+    protected byte[] engineDoFinal() {
+        byte[] result = new byte[digest.engineGetDigestLength()];
+        doFinal(result, 0);
+        return result;
+    }
+
+    /**
+     * Writes the MAC to out at offset and rewinds to the keyed state.
+     */
+    void doFinal(byte[] out, int offset) {
+        int len = digest.engineGetDigestLength();
+
+        digest.finish(innerHash, 0);
+        digest.restore(outer);
+        digest.engineUpdate(innerHash, 0, len);
+        digest.finish(out, offset);
+        digest.restore(inner);
+    }
+
+    /**
+     * Replaces u with the MAC of the 64-byte message u, both in lane form, without
+     * touching bytes. Only valid for the 512-bit variant on a freshly keyed state, where
+     * both the message and the inner hash are exactly one block.
+     */
+    void doFinal(long[] u) {
+        digest.update(u);
+        digest.finish(u);
+        digest.restore(outer);
+        digest.update(u);
+        digest.finish(u);
+        digest.restore(inner);
+    }
+
+    @Override
+    protected void engineReset() {
+        if (inner != null) {
+            digest.restore(inner);
+        }
+    }
+
+    /**
+     * The key pad midstates are never modified and are shared with the copy.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        GOSTHMac copy = (GOSTHMac)super.clone();
+        copy.digest = (GOSTDigest)digest.clone();
+        copy.innerHash = new byte[64];
+        return copy;
+    }
+}
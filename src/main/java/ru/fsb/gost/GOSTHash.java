@@ -0,0 +1,91 @@
+package ru.fsb.gost;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One-shot GOST3411-2012 digests for hot paths. Every thread keeps one digest per
+ * variant and reuses it, so a call does no JCA lookup and allocates nothing but the
+ * result, or nothing at all with the variants that write into a caller's buffer.
+ *
+ * The per-thread digests live as long as their threads; in containers that reload
+ * classes on pooled threads prefer MessageDigest or GOSTBatch.
+ */
+public final class GOSTHash {
+
+    private final static ThreadLocal<GOSTDigest> DIGEST_512 = ThreadLocal.withInitial(GOST3411_2012_512::new);
+    private final static ThreadLocal<GOSTDigest> DIGEST_256 = ThreadLocal.withInitial(GOST3411_2012_256::new);
+
+    private GOSTHash() {
+    }
+
+    public static byte[] hash512(byte[] message) {
+        return hash(DIGEST_512.get(), message, 0, message.length);
+    }
+
+    public static byte[] hash512(byte[] message, int offset, int len) {
+        return hash(DIGEST_512.get(), message, offset, len);
+    }
+
+    /**
+     * Consumes the remaining bytes of message.
+     */
+    public static byte[] hash512(ByteBuffer message) {
+        return hash(DIGEST_512.get(), message);
+    }
+
+    /**
+     * Writes the 64-byte digest of message to out at outOffset.
+     */
+    public static void hash512(byte[] message, byte[] out, int outOffset) {
+        hash(DIGEST_512.get(), message, out, outOffset);
+    }
+
+    public static byte[] hash256(byte[] message) {
+        return hash(DIGEST_256.get(), message, 0, message.length);
+    }
+
+    public static byte[] hash256(byte[] message, int offset, int len) {
+        return hash(DIGEST_256.get(), message, offset, len);
+    }
+
+    /**
+     * Consumes the remaining bytes of message.
+     */
+    public static byte[] hash256(ByteBuffer message) {
+        return hash(DIGEST_256.get(), message);
+    }
+
+    /**
+     * Writes the 32-byte digest of message to out at outOffset.
+     */
+    public static void hash256(byte[] message, byte[] out, int outOffset) {
+        hash(DIGEST_256.get(), message, out, outOffset);
+    }
+
+    private static byte[] hash(GOSTDigest digest, byte[] message, int offset, int len) {
+        if (offset < 0 || len < 0 || offset > message.length - len) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + len + ", array " + message.length);
+        }
+        digest.engineUpdate(message, offset, len);
+        return digest.engineDigest();
+    }
+
+    private static byte[] hash(GOSTDigest digest, ByteBuffer message) {
+        try {
+            digest.engineUpdate(message);
+        } catch (RuntimeException e) {
+            // Leave no partial input behind for the next call on this thread
+            digest.engineReset();
+            throw e;
+        }
+        return digest.engineDigest();
+    }
+
+    private static void hash(GOSTDigest digest, byte[] message, byte[] out, int outOffset) {
+        if (outOffset < 0 || outOffset > out.length - digest.engineGetDigestLength()) {
+            throw new IndexOutOfBoundsException("insufficient space in the output buffer to store the digest");
+        }
+        digest.engineUpdate(message, 0, message.length);
+        digest.finish(out, outOffset);
+    }
+}
@@ -0,0 +1,183 @@
+package ru.fsb.gost;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous GOST3411-2012 digests for non-blocking callers.
+ *
+ * In-memory data (byte arrays and ByteBuffers) is hashed on a CPU executor, by default
+ * one daemon thread per core, each reusing its GOSTHash digests. Paths and streams go to
+ * an I/O executor, by default a virtual thread per task where the JVM has them (JDK 21
+ * and later, looked up at run time as this library targets Java 8) and otherwise a cached
+ * pool of daemon threads.
+ *
+ * At most maxPending digests are accepted and not yet completed at any time. Beyond that
+ * the returned future fails at once with RejectedExecutionException, so callers shed or
+ * retry load instead of queuing without bound or blocking their own threads.
+ *
+ * Dependent stages attached without an executor run on the thread that completed the
+ * digest; use the *Async variants to move them off the hashing pool.
+ */
+public final class GOSTHashService implements AutoCloseable {
+
+    public final static int DEFAULT_MAX_PENDING = 1024;
+
+    private final static int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final Executor cpu;
+    private final Executor io;
+    private final ExecutorService ownedCpu;
+    private final ExecutorService ownedIo;
+    private final int maxPending;
+    private final Semaphore permits;
+
+    public GOSTHashService() {
+        this(null, null, DEFAULT_MAX_PENDING);
+    }
+
+    /**
+     * @param cpuExecutor runs in-memory digests; null for the default pool, which close() shuts down
+     * @param ioExecutor runs path and stream digests; null for the default, which close() shuts down
+     * @param maxPending maximum number of accepted and not yet completed digests
+     */
+    public GOSTHashService(Executor cpuExecutor, Executor ioExecutor, int maxPending) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Maximum pending digests must be positive: " + maxPending);
+        }
+        ownedCpu = cpuExecutor == null ? Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(), daemon("gosthash-cpu-")) : null;
+        ownedIo = ioExecutor == null ? newIoExecutor() : null;
+        cpu = cpuExecutor == null ? ownedCpu : cpuExecutor;
+        io = ioExecutor == null ? ownedIo : ioExecutor;
+        this.maxPending = maxPending;
+        permits = new Semaphore(maxPending);
+    }
+
+    private static ExecutorService newIoExecutor() {
+        try {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Before JDK 21
+            return Executors.newCachedThreadPool(daemon("gosthash-io-"));
+        }
+    }
+
+    private static ThreadFactory daemon(final String prefix) {
+        final AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     */
+    public CompletableFuture<byte[]> digest(final byte[] message, String algorithm) {
+        final boolean is512 = "GOST3411-2012.512".equals(algorithm);
+        return submit(cpu, algorithm, () -> is512 ? GOSTHash.hash512(message) : GOSTHash.hash256(message));
+    }
+
+    /**
+     * Consumes the remaining bytes of message when the digest runs; the buffer must not
+     * be used until the future completes.
+     */
+    public CompletableFuture<byte[]> digest(final ByteBuffer message, String algorithm) {
+        final boolean is512 = "GOST3411-2012.512".equals(algorithm);
+        return submit(cpu, algorithm, () -> is512 ? GOSTHash.hash512(message) : GOSTHash.hash256(message));
+    }
+
+    /**
+     * Hashes the file with GOSTFiles.digest(Path, String).
+     */
+    public CompletableFuture<byte[]> digest(final Path path, final String algorithm) {
+        return submit(io, algorithm, () -> GOSTFiles.digest(path, algorithm));
+    }
+
+    /**
+     * Reads the stream to its end and hashes it on the I/O executor. The stream is not
+     * closed and must not be used until the future completes.
+     */
+    public CompletableFuture<byte[]> digest(final InputStream in, final String algorithm) {
+        return submit(io, algorithm, () -> {
+            GOSTDigest digest = GOSTDigest.getInstance(algorithm);
+            byte[] buf = new byte[STREAM_BUFFER_SIZE];
+            for (int n; (n = in.read(buf)) >= 0; ) {
+                digest.engineUpdate(buf, 0, n);
+            }
+            return digest.engineDigest();
+        });
+    }
+
+    /**
+     * @return the number of accepted digests that have not completed yet
+     */
+    public int getPending() {
+        return maxPending - permits.availablePermits();
+    }
+
+    private CompletableFuture<byte[]> submit(Executor executor, String algorithm, final Callable<byte[]> task) {
+        final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        if (!"GOST3411-2012.512".equals(algorithm) && !"GOST3411-2012.256".equals(algorithm)) {
+            future.completeExceptionally(new NoSuchAlgorithmException(algorithm + " MessageDigest not available"));
+            return future;
+        }
+        if (!permits.tryAcquire()) {
+            future.completeExceptionally(new RejectedExecutionException("Too many pending digests"));
+            return future;
+        }
+
+        try {
+            executor.execute(() -> {
+                byte[] result = null;
+                Throwable error = null;
+                try {
+                    if (!future.isDone()) {
+                        result = task.call();
+                    }
+                } catch (Throwable e) {
+                    error = e;
+                } finally {
+                    // Free the slot before dependent stages run on this thread
+                    permits.release();
+                }
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(result);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Shuts down the default executors; digests already accepted still complete.
+     * Executors given to the constructor are left to their owner.
+     */
+    @Override
+    public void close() {
+        if (ownedCpu != null) {
+            ownedCpu.shutdown();
+        }
+        if (ownedIo != null) {
+            ownedIo.shutdown();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package ru.fsb.gost;
+
+import java.util.Arrays;
+
+/**
+ * HMAC_DRBG (NIST SP 800-90A Rev. 1, 10.1.2) instantiated with
+ * HMAC-GOST3411-2012-512, security strength 256 bits.
+ *
+ * This is the bare mechanism: it is deterministic, not thread-safe, and takes its
+ * entropy from the caller. Applications normally use it through the
+ * "HMAC_DRBG-GOST3411-2012-512" SecureRandom service, which seeds it from the system.
+ *
+ * V is kept in lane form and the HMAC stays keyed with K between calls, so generating
+ * output is one lane-form HMAC per 64 bytes: two compressions of the message block and
+ * two finalizations from the cached key pad midstates, with no byte conversion.
+ */
+public final class GOSTHmacDrbg {
+
+    /**
+     * Largest request for generate(), 2^19 bits.
+     */
+    public final static int MAX_BYTES_PER_REQUEST = 1 << 16;
+
+    /**
+     * Number of generate() calls after which reseed() is required.
+     */
+    public final static long RESEED_INTERVAL = 1L << 48;
+
+    /**
+     * Minimum entropy input for instantiation and reseeding.
+     */
+    public final static int MIN_ENTROPY_BYTES = 32;
+
+    private final GOSTHMac hmac = new HMAC_GOST3411_2012_512();
+    private final byte[] K = new byte[64];
+    private final long[] V = new long[8];
+    private long reseedCounter;
+
+    // Temporary buffers
+    private final byte[] vBytes = new byte[64];
+
+    /**
+     * Instantiate.
+     *
+     * @param entropy at least MIN_ENTROPY_BYTES of full entropy
+     * @param nonce may be null
+     * @param personalization may be null
+     */
+    public GOSTHmacDrbg(byte[] entropy, byte[] nonce, byte[] personalization) {
+        checkEntropy(entropy);
+        Arrays.fill(V, 0x0101010101010101L);
+        hmac.init(K);
+        update(entropy, nonce, personalization);
+        reseedCounter = 1;
+    }
+
+    /**
+     * @param entropy at least MIN_ENTROPY_BYTES of full entropy
+     * @param additional may be null
+     */
+    public void reseed(byte[] entropy, byte[] additional) {
+        checkEntropy(entropy);
+        update(entropy, additional, null);
+        reseedCounter = 1;
+    }
+
+    /**
+     * @return the number of generate() calls left before reseed() is required
+     */
+    public long remaining() {
+        return RESEED_INTERVAL - reseedCounter + 1;
+    }
+
+    /**
+     * Writes len pseudorandom bytes to out at offset.
+     *
+     * @param additional may be null
+     * @throws IllegalArgumentException if len exceeds MAX_BYTES_PER_REQUEST
+     * @throws IllegalStateException if a reseed is required
+     */
+    public void generate(byte[] out, int offset, int len, byte[] additional) {
+        if (len < 0 || len > MAX_BYTES_PER_REQUEST) {
+            throw new IllegalArgumentException("Request must be 0 to " + MAX_BYTES_PER_REQUEST + " bytes: " + len);
+        }
+        if (offset < 0 || offset > out.length - len) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + len + ", array " + out.length);
+        }
+        if (reseedCounter > RESEED_INTERVAL) {
+            throw new IllegalStateException("Reseed required");
+        }
+
+        boolean hasAdditional = additional != null && additional.length > 0;
+        if (hasAdditional) {
+            update(additional, null, null);
+        }
+
+        for (; len >= 64; len -= 64, offset += 64) {
+            hmac.doFinal(V);
+            GOSTDigest.lanesToOutput(V, 8, out, offset);
+        }
+        if (len > 0) {
+            hmac.doFinal(V);
+            GOSTDigest.lanesToOutput(V, 8, vBytes, 0);
+            System.arraycopy(vBytes, 0, out, offset, len);
+        }
+
+        update(hasAdditional ? additional : null, null, null);
+        reseedCounter++;
+    }
+
+    /**
+     * HMAC_DRBG_Update with provided_data = a || b || c; null parts are empty. On return
+     * hmac is keyed with the new K.
+     */
+    private void update(byte[] a, byte[] b, byte[] c) {
+        boolean empty = length(a) + length(b) + length(c) == 0;
+
+        for (int round = 0; round < (empty ? 1 : 2); round++) {
+            // K = HMAC(K, V || round || provided_data)
+            GOSTDigest.lanesToOutput(V, 8, vBytes, 0);
+            hmac.engineUpdate(vBytes, 0, 64);
+            hmac.engineUpdate((byte)round);
+            if (a != null) {
+                hmac.engineUpdate(a, 0, a.length);
+            }
+            if (b != null) {
+                hmac.engineUpdate(b, 0, b.length);
+            }
+            if (c != null) {
+                hmac.engineUpdate(c, 0, c.length);
+            }
+            hmac.doFinal(K, 0);
+            hmac.init(K);
+
+            // V = HMAC(K, V)
+            hmac.doFinal(V);
+        }
+        Arrays.fill(vBytes, (byte)0);
+    }
+
+    private static int length(byte[] data) {
+        return data == null ? 0 : data.length;
+    }
+
+    private static void checkEntropy(byte[] entropy) {
+        if (entropy == null || entropy.length < MIN_ENTROPY_BYTES) {
+            throw new IllegalArgumentException("At least " + MIN_ENTROPY_BYTES + " bytes of entropy required");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.fsb.gost;
+
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.KeySpec;
+import java.util.Arrays;
+import javax.crypto.SecretKey;
+
+/**
+ * KDF_TREE_GOSTR3411_2012_256 (RFC 7836, 4.5), shared by KDF_TREE_GOSTR3411_2012_256 and
+ * KDF_GOSTR3411_2012_256:
+ *
+ * K(i) = HMAC_GOSTR3411_2012_256(K_in, [i]_b | label | 0x00 | seed | [L]_b)
+ *
+ * where [i]_b has R bytes and [L]_b is L in bits without leading zero bytes.
+ *
+ * The HMAC key pad midstates are kept between calls and only recomputed when the
+ * master key changes, so deriving many keys from one master key costs three
+ * compressions per output block and no re-keying.
+ */
+abstract class GOSTKDFTree extends GOSTKeyDerivation {
+
+    private final KeyedMac prf = new KeyedMac(new HMAC_GOST3411_2012_256());
+
+    // Temporary buffer for a partial last block
+    private final byte[] block = new byte[32];
+
+    GOSTKDFTree(String algorithm) {
+        super(algorithm);
+    }
+
+    /**
+     * Rejects the parameters a variant does not accept.
+     */
+    abstract void check(KDFTreeKeySpec spec) throws InvalidKeySpecException;
+
+    @Override
+    protected SecretKey engineGenerateSecret(KeySpec keySpec) throws InvalidKeySpecException {
+        if (!(keySpec instanceof KDFTreeKeySpec)) {
+            throw new InvalidKeySpecException("Only KDFTreeKeySpec is accepted");
+        }
+        KDFTreeKeySpec spec = (KDFTreeKeySpec)keySpec;
+        check(spec);
+
+        return secret(derive(spec.key(), spec.label(), spec.seed(), spec.getKeyLength(), spec.getR()));
+    }
+
+    /**
+     * @param keyLength L in bits, a multiple of 8
+     * @param r size of the block counter in bytes
+     */
+    synchronized byte[] derive(byte[] key, byte[] label, byte[] seed, int keyLength, int r) {
+        GOSTHMac prf = this.prf.with(key);
+        int lengthBytes = 4 - Integer.numberOfLeadingZeros(keyLength) / 8;
+        byte[] out = new byte[keyLength / 8];
+
+        for (int i = 1, off = 0; off < out.length; i++, off += 32) {
+            for (int shift = 8 * (r - 1); shift >= 0; shift -= 8) {
+                prf.engineUpdate((byte)(i >>> shift));
+            }
+            prf.engineUpdate(label, 0, label.length);
+            prf.engineUpdate((byte)0);
+            prf.engineUpdate(seed, 0, seed.length);
+            for (int shift = 8 * (lengthBytes - 1); shift >= 0; shift -= 8) {
+                prf.engineUpdate((byte)(keyLength >>> shift));
+            }
+
+            if (out.length - off >= 32) {
+                prf.doFinal(out, off);
+            } else {
+                prf.doFinal(block, 0);
+                System.arraycopy(block, 0, out, off, out.length - off);
+                Arrays.fill(block, (byte)0);
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.fsb.gost;
+
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.KeySpec;
+import java.util.Arrays;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactorySpi;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Common part of the HMAC based key derivation factories: RAW key handling and HMACs
+ * that keep their key pad midstates for as long as the key stays the same.
+ */
+abstract class GOSTKeyDerivation extends SecretKeyFactorySpi {
+
+    final String algorithm;
+
+    GOSTKeyDerivation(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Wraps the derived bytes and wipes them.
+     */
+    final SecretKey secret(byte[] key) {
+        try {
+            return new SecretKeySpec(key, algorithm);
+        } finally {
+            Arrays.fill(key, (byte)0);
+        }
+    }
+
+    @Override
+    protected KeySpec engineGetKeySpec(SecretKey key, Class<?> keySpec) throws InvalidKeySpecException {
+        if (key == null || !algorithm.equalsIgnoreCase(key.getAlgorithm()) || !"RAW".equals(key.getFormat())) {
+            throw new InvalidKeySpecException("Key is not a " + algorithm + " key");
+        }
+        if (keySpec != null && keySpec.isAssignableFrom(SecretKeySpec.class)) {
+            return new SecretKeySpec(key.getEncoded(), algorithm);
+        }
+        throw new InvalidKeySpecException("Unsupported key specification: " + keySpec);
+    }
+
+    @Override
+    protected SecretKey engineTranslateKey(SecretKey key) throws InvalidKeyException {
+        if (key == null || !algorithm.equalsIgnoreCase(key.getAlgorithm()) || !"RAW".equals(key.getFormat())) {
+            throw new InvalidKeyException("Key is not a " + algorithm + " key");
+        }
+        return new SecretKeySpec(key.getEncoded(), algorithm);
+    }
+
+    /**
+     * An HMAC that is only re-keyed when it is given a different key. Not thread-safe.
+     */
+    final static class KeyedMac {
+        private final GOSTHMac mac;
+        private byte[] key;
+
+        KeyedMac(GOSTHMac mac) {
+            this.mac = mac;
+        }
+
+        int length() {
+            return mac.engineGetMacLength();
+        }
+
+        GOSTHMac with(byte[] newKey) {
+            if (key == null || !MessageDigest.isEqual(key, newKey)) {
+                mac.init(newKey);
+                if (key != null) {
+                    Arrays.fill(key, (byte)0);
+                }
+                key = newKey.clone();
+            }
+            return mac;
+        }
+    }
+}
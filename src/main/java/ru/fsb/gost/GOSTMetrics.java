@@ -0,0 +1,120 @@
+package ru.fsb.gost;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide hashing statistics, off unless the JVM runs with
+ * -Dru.fsb.gost.metrics=true. ENABLED is a static final constant, so when it is
+ * false the JIT removes every instrumentation branch from GOSTDigest.
+ *
+ * Everything is accounted once per finalized digest: the bytes it absorbed, the calls
+ * of the compression function it made and the time spent hashing it, which is the time
+ * inside array and ByteBuffer updates plus finalization (single-byte updates are too
+ * short to time and are only counted). Digests that are reset without finalizing are
+ * not counted.
+ *
+ * Only work actually done is counted. A digest resumed from a midstate, as HMAC does
+ * with its key pads and GOSTResumableDigest with a checkpoint, reports the input after
+ * that point and not the prefix the midstate stands for.
+ *
+ * Where JDK Flight Recorder is available, every digest of at least
+ * -Dru.fsb.gost.metrics.eventThreshold bytes (1 MiB by default) is also recorded as a
+ * "ru.fsb.gost.Hash" event.
+ */
+public final class GOSTMetrics {
+
+    public final static boolean ENABLED = Boolean.getBoolean("ru.fsb.gost.metrics");
+
+    /**
+     * Number of buckets of the latency histogram; bucket i counts hashing times of
+     * [2^i, 2^(i+1)) nanoseconds, bucket 0 also counts 0.
+     */
+    public final static int BUCKETS = 40;
+
+    private final static long EVENT_THRESHOLD = Long.getLong("ru.fsb.gost.metrics.eventThreshold", 1024 * 1024);
+
+    private final static String JFR_SINK = "ru.fsb.gost.GOSTHashEvent$Sink";
+
+    private final static LongAdder BYTES = new LongAdder();
+    private final static LongAdder BLOCKS = new LongAdder();
+    private final static LongAdder DIGESTS = new LongAdder();
+    private final static LongAdder[] LATENCY = new LongAdder[BUCKETS];
+
+    private final static EventSink EVENTS = ENABLED ? loadSink() : null;
+
+    static {
+        for (int i = 0; i < BUCKETS; i++) {
+            LATENCY[i] = new LongAdder();
+        }
+    }
+
+    private GOSTMetrics() {
+    }
+
+    /**
+     * Receives digests above the event threshold; implemented on top of jdk.jfr in a
+     * separate source set, as jdk.jfr is not part of the Java 8 API.
+     */
+    interface EventSink {
+        void hashed(int digestLength, long bytes, long busyNanos, long elapsedNanos);
+    }
+
+    private static EventSink loadSink() {
+        try {
+            return (EventSink)Class.forName(JFR_SINK).getDeclaredConstructor().newInstance();
+        } catch (Exception | LinkageError e) {
+            // Not packaged or no jdk.jfr in this JVM
+            return null;
+        }
+    }
+
+    static void finalized(int digestLength, long bytes, long compressions, long busyNanos, long elapsedNanos) {
+        BYTES.add(bytes);
+        BLOCKS.add(compressions);
+        DIGESTS.increment();
+        LATENCY[Math.min(63 - Long.numberOfLeadingZeros(busyNanos | 1), BUCKETS - 1)].increment();
+
+        if (EVENTS != null && bytes >= EVENT_THRESHOLD) {
+            EVENTS.hashed(digestLength, bytes, busyNanos, elapsedNanos);
+        }
+    }
+
+    /**
+     * @return message bytes absorbed by all finalized digests
+     */
+    public static long bytesAbsorbed() {
+        return BYTES.sum();
+    }
+
+    /**
+     * @return calls of the compression function g_N made by all finalized digests: one
+     *         per full 64-byte block and three per finalization
+     */
+    public static long blocksCompressed() {
+        return BLOCKS.sum();
+    }
+
+    public static long digestsFinalized() {
+        return DIGESTS.sum();
+    }
+
+    /**
+     * @return a copy of the hashing time histogram, see BUCKETS
+     */
+    public static long[] latencyHistogram() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = LATENCY[i].sum();
+        }
+        return counts;
+    }
+
+    public static void reset() {
+        BYTES.reset();
+        BLOCKS.reset();
+        DIGESTS.reset();
+        for (LongAdder bucket : LATENCY) {
+            bucket.reset();
+        }
+    }
+}
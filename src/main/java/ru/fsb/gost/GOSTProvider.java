@@ -6,8 +6,26 @@ public final class GOSTProvider extends Provider {
 
     public GOSTProvider() {
         super("GOST", 0.1, "The Russian Federal standard (GOST) provider " +
-                "(implements client mechanisms for: GOST R 34.11-2012)");
+                "(implements client mechanisms for: GOST R 34.11-2012, HMAC, PBKDF2, KDF, TLS PRF, HKDF, HMAC_DRBG)");
         put("MessageDigest.GOST3411-2012.256", GOST3411_2012_256.class.getCanonicalName());
         put("MessageDigest.GOST3411-2012.512", GOST3411_2012_512.class.getCanonicalName());
+        put("MessageDigest.GOST3411-2012.256-TREE", GOST3411_2012_256_Tree.class.getCanonicalName());
+        put("MessageDigest.GOST3411-2012.512-TREE", GOST3411_2012_512_Tree.class.getCanonicalName());
+        put("Mac.HMAC-GOST3411-2012-256", HMAC_GOST3411_2012_256.class.getCanonicalName());
+        put("Mac.HMAC-GOST3411-2012-512", HMAC_GOST3411_2012_512.class.getCanonicalName());
+        put("SecretKeyFactory." + PBKDF2_HMAC_GOST3411_2012_512.ALGORITHM,
+                PBKDF2_HMAC_GOST3411_2012_512.class.getCanonicalName());
+        put("SecretKeyFactory." + KDF_GOSTR3411_2012_256.ALGORITHM, KDF_GOSTR3411_2012_256.class.getCanonicalName());
+        put("SecretKeyFactory." + KDF_TREE_GOSTR3411_2012_256.ALGORITHM,
+                KDF_TREE_GOSTR3411_2012_256.class.getCanonicalName());
+        put("SecretKeyFactory." + PRF_TLS_GOSTR3411_2012_256.ALGORITHM,
+                PRF_TLS_GOSTR3411_2012_256.class.getCanonicalName());
+        put("SecretKeyFactory." + PRF_TLS_GOSTR3411_2012_512.ALGORITHM,
+                PRF_TLS_GOSTR3411_2012_512.class.getCanonicalName());
+        put("SecretKeyFactory." + HKDF_GOST3411_2012_256.ALGORITHM, HKDF_GOST3411_2012_256.class.getCanonicalName());
+        put("SecretKeyFactory." + HKDF_GOST3411_2012_512.ALGORITHM, HKDF_GOST3411_2012_512.class.getCanonicalName());
+        put("SecureRandom." + HMAC_DRBG_GOST3411_2012_512.ALGORITHM,
+                HMAC_DRBG_GOST3411_2012_512.class.getCanonicalName());
+        put("SecureRandom." + HMAC_DRBG_GOST3411_2012_512.ALGORITHM + " ThreadSafe", "true");
     }
 }
@@ -0,0 +1,100 @@
+package ru.fsb.gost;
+
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A GOST3411-2012 MessageDigest whose state can be saved as bytes and resumed later,
+ * also in another JVM. Meant for files that only grow: after hashing the file, keep
+ * the checkpoint, and on the next append restore it and hash only the new tail.
+ *
+ * <pre>
+ * GOSTResumableDigest md = GOSTResumableDigest.restore(saved);
+ * md.update(tail);
+ * saved = md.checkpoint();
+ * byte[] digest = md.digest();
+ * </pre>
+ *
+ * A checkpoint holds the chaining value, message length and checksum at that point.
+ * Anyone holding it can compute the digest of any extension of the message.
+ */
+public final class GOSTResumableDigest extends MessageDigest implements Cloneable {
+
+    private GOSTDigest digest;
+
+    /**
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     */
+    public GOSTResumableDigest(String algorithm) throws NoSuchAlgorithmException {
+        this(algorithm, GOSTDigest.getInstance(algorithm));
+    }
+
+    private GOSTResumableDigest(String algorithm, GOSTDigest digest) {
+        super(algorithm);
+        this.digest = digest;
+    }
+
+    /**
+     * Creates a digest that continues from a checkpoint.
+     *
+     * @throws IllegalArgumentException if checkpoint was not produced by checkpoint()
+     */
+    public static GOSTResumableDigest restore(byte[] checkpoint) {
+        GOSTDigest.Midstate state = GOSTDigest.Midstate.fromByteArray(checkpoint);
+        GOSTDigest digest = state.digestLength() == 64 ? new GOST3411_2012_512() : new GOST3411_2012_256();
+        digest.restore(state);
+        return new GOSTResumableDigest(state.digestLength() == 64 ? "GOST3411-2012.512" : "GOST3411-2012.256", digest);
+    }
+
+    /**
+     * @return the state after all input so far, in a versioned format of at most 258 bytes;
+     *         the digest itself is not affected
+     */
+    public byte[] checkpoint() {
+        return digest.snapshot().toByteArray();
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+        digest.engineUpdate(input);
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+        digest.engineUpdate(input, offset, len);
+    }
+
+    @Override
+    protected void engineUpdate(ByteBuffer input) {
+        digest.engineUpdate(input);
+    }
+
+    @Override
+    protected int engineGetDigestLength() {
+        return digest.engineGetDigestLength();
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+        return digest.engineDigest();
+    }
+
+    @Override
+    protected int engineDigest(byte[] buf, int offset, int len) throws DigestException {
+        return digest.engineDigest(buf, offset, len);
+    }
+
+    @Override
+    protected void engineReset() {
+        digest.engineReset();
+    }
+
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        GOSTResumableDigest copy = (GOSTResumableDigest)super.clone();
+        copy.digest = (GOSTDigest)digest.clone();
+        return copy;
+    }
+}
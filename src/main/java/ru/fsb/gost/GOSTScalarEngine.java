@@ -0,0 +1,72 @@
+package ru.fsb.gost;
+
+import static ru.fsb.gost.GOSTDigest.C;
+import static ru.fsb.gost.GOSTDigest.T;
+
+/**
+ * Table-driven g_N in plain Java. LPS is eight lookups per output lane in the
+ * precomputed T tables.
+ *
+ * This class reads the jagged T[8][256] of GOSTDigest; the subclasses only replace
+ * F to read other layouts of the same tables.
+ */
+class GOSTScalarEngine extends GOSTEngine {
+
+    // Temporary buffers
+    private final long[] Ki  = new long[8];
+    private final long[] tmp = new long[8];
+
+    @Override
+    GOSTEngine copy() {
+        return new GOSTScalarEngine();
+    }
+
+    void F(long[] V) {
+        long v0 = V[0], v1 = V[1], v2 = V[2], v3 = V[3];
+        long v4 = V[4], v5 = V[5], v6 = V[6], v7 = V[7];
+
+        for (int i = 0, s = 0; i < 8; i++, s += 8) {
+            V[i] = T[0][(int)(v7 >>> s) & 0xFF]
+                 ^ T[1][(int)(v6 >>> s) & 0xFF]
+                 ^ T[2][(int)(v5 >>> s) & 0xFF]
+                 ^ T[3][(int)(v4 >>> s) & 0xFF]
+                 ^ T[4][(int)(v3 >>> s) & 0xFF]
+                 ^ T[5][(int)(v2 >>> s) & 0xFF]
+                 ^ T[6][(int)(v1 >>> s) & 0xFF]
+                 ^ T[7][(int)(v0 >>> s) & 0xFF];
+        }
+    }
+
+    private static void xor512(long[] A, long[] B) {
+        for (int i = 0; i < 8; ++i) {
+            A[i] ^= B[i];
+        }
+    }
+
+    private void E(long[] K, long[] m) {
+        System.arraycopy(K, 0, Ki, 0, 8);
+        xor512(K, m);
+        F(K);
+        for (int i = 0; i < 11; ++i) {
+            xor512(Ki, C[i]);
+            F(Ki);
+            xor512(K, Ki);
+            F(K);
+        }
+        xor512(Ki, C[11]);
+        F(Ki);
+        xor512(K, Ki);
+    }
+
+    @Override
+    void g_N(long[] h, long[] N, long[] m) {
+        System.arraycopy(h, 0, tmp, 0, 8);
+
+        xor512(h, N);
+        F(h);
+
+        E(h, m);
+        xor512(h, tmp);
+        xor512(h, m);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.fsb.gost;
+
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.KeySpec;
+import java.util.Arrays;
+import javax.crypto.SecretKey;
+
+/**
+ * The TLS 1.2 P_hash construction of RFC 7836, 4.1, shared by PRF_TLS_GOSTR3411_2012_256
+ * and PRF_TLS_GOSTR3411_2012_512:
+ *
+ * A(0) = label | seed, A(i) = HMAC(secret, A(i - 1))
+ * P(secret, label | seed) = HMAC(secret, A(1) | label | seed) | HMAC(secret, A(2) | label | seed) | ...
+ *
+ * Every HMAC of a derivation uses the same secret, so the key pad midstates are
+ * computed once per secret, kept for the following calls with that secret, and each
+ * P_hash step runs from them without allocating.
+ */
+abstract class GOSTTLSPRF extends GOSTKeyDerivation {
+
+    private final KeyedMac prf;
+
+    // A(i) and a partial last block
+    private final byte[] a;
+    private final byte[] block;
+
+    GOSTTLSPRF(String algorithm, GOSTHMac mac) {
+        super(algorithm);
+        prf = new KeyedMac(mac);
+        a = new byte[prf.length()];
+        block = new byte[prf.length()];
+    }
+
+    @Override
+    protected SecretKey engineGenerateSecret(KeySpec keySpec) throws InvalidKeySpecException {
+        if (!(keySpec instanceof TLSPRFKeySpec)) {
+            throw new InvalidKeySpecException("Only TLSPRFKeySpec is accepted");
+        }
+        TLSPRFKeySpec spec = (TLSPRFKeySpec)keySpec;
+        return secret(derive(spec.secret(), spec.label(), spec.seed(), spec.getKeyLength() / 8));
+    }
+
+    synchronized byte[] derive(byte[] secret, byte[] label, byte[] seed, int len) {
+        GOSTHMac prf = this.prf.with(secret);
+        int n = a.length;
+        byte[] out = new byte[len];
+
+        prf.engineUpdate(label, 0, label.length);
+        prf.engineUpdate(seed, 0, seed.length);
+        prf.doFinal(a, 0);
+
+        for (int off = 0; ; off += n) {
+            prf.engineUpdate(a, 0, n);
+            prf.engineUpdate(label, 0, label.length);
+            prf.engineUpdate(seed, 0, seed.length);
+            if (len - off > n) {
+                prf.doFinal(out, off);
+            } else {
+                prf.doFinal(block, 0);
+                System.arraycopy(block, 0, out, off, len - off);
+                break;
+            }
+
+            prf.engineUpdate(a, 0, n);
+            prf.doFinal(a, 0);
+        }
+        Arrays.fill(a, (byte)0);
+        Arrays.fill(block, (byte)0);
+        return out;
+    }
+}
@@ -0,0 +1,282 @@
+package ru.fsb.gost;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.MessageDigestSpi;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Merkle tree hashing over GOST R 34.11-2012. This is NOT plain Streebog and is
+ * registered under its own algorithm names.
+ *
+ * The input is split into leaves of LEAF_SIZE bytes (the last one may be shorter, an
+ * empty input is a single empty leaf). Leaves are hashed in parallel on the common
+ * ForkJoinPool while the input is still being read:
+ *
+ *     leaf = H(0x00 || leaf bytes)
+ *     node = H(0x01 || left || right)
+ *
+ * Each level pairs adjacent nodes left to right and an odd last node is carried up
+ * unchanged; the root is the digest. Since every leaf digest is independent, a leaf
+ * can be verified against the root without hashing the rest of the input: proof()
+ * gives its sibling path and verify() checks the leaf bytes with it.
+ */
+public class GOSTTreeDigest extends MessageDigestSpi {
+
+    public final static int LEAF_SIZE = 1024 * 1024;
+
+    private final static byte LEAF = 0x00;
+    private final static byte NODE = 0x01;
+
+    private final String algorithm;
+    private final int digestLength;
+    // Combines the nodes above the leaves
+    private final GOSTDigest nodes;
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    // Leaf digests in input order; the first `joined` ones are already done
+    private final List<ForkJoinTask<byte[]>> leaves = new ArrayList<>();
+    private int joined;
+
+    private byte[] leaf = new byte[LEAF_SIZE];
+    private int leafOff;
+
+    // Buffers of the leaves not joined yet, in input order, and buffers ready for reuse
+    private final ArrayDeque<byte[]> inFlight = new ArrayDeque<>();
+    private final ArrayDeque<byte[]> free = new ArrayDeque<>();
+
+    GOSTTreeDigest(String algorithm, int digestLength) {
+        this.algorithm = algorithm;
+        this.digestLength = digestLength;
+        nodes = newDigest(algorithm);
+    }
+
+    @Override
+    protected int engineGetDigestLength() {
+        return digestLength;
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+        leaf[leafOff++] = input;
+        if (leafOff == LEAF_SIZE) {
+            submitLeaf();
+        }
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+        while (len > 0) {
+            int n = Math.min(len, LEAF_SIZE - leafOff);
+            System.arraycopy(input, offset, leaf, leafOff, n);
+            leafOff += n;
+            offset += n;
+            len -= n;
+            if (leafOff == LEAF_SIZE) {
+                submitLeaf();
+            }
+        }
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+        byte[] result = new byte[digestLength];
+        finish(result, 0);
+        return result;
+    }
+
+    @Override
+    protected int engineDigest(byte[] buf, int offset, int len) throws DigestException {
+        if (len < digestLength) {
+            throw new DigestException("partial digests not returned");
+        }
+        if (offset < 0 || buf.length - offset < digestLength) {
+            throw new DigestException("insufficient space in the output buffer to store the digest");
+        }
+        finish(buf, offset);
+        return digestLength;
+    }
+
+    /**
+     * Joins the leaves, writes the root to buf at offset and resets.
+     */
+    private void finish(byte[] buf, int offset) {
+        if (leafOff > 0 || leaves.isEmpty()) {
+            submitLeaf();
+        }
+
+        List<byte[]> level = new ArrayList<>(leaves.size());
+        for (ForkJoinTask<byte[]> task : leaves) {
+            level.add(task.join());
+        }
+        joined = leaves.size();
+        free.addAll(inFlight);
+        inFlight.clear();
+        engineReset();
+
+        while (level.size() > 2) {
+            level = nextLevel(nodes, level);
+        }
+        if (level.size() == 2) {
+            nodes.engineUpdate(NODE);
+            nodes.engineUpdate(level.get(0), 0, digestLength);
+            nodes.engineUpdate(level.get(1), 0, digestLength);
+            nodes.finish(buf, offset);
+        } else {
+            System.arraycopy(level.get(0), 0, buf, offset, digestLength);
+        }
+    }
+
+    @Override
+    protected void engineReset() {
+        for (int i = joined; i < leaves.size(); i++) {
+            leaves.get(i).cancel(false);
+        }
+        leaves.clear();
+        joined = 0;
+        leafOff = 0;
+        // A cancelled leaf may still be reading its buffer, so those are not reused
+        inFlight.clear();
+    }
+
+    /**
+     * Hands the current leaf buffer over to the pool. At most twice the pool's
+     * parallelism leaves are in flight, so a fast producer waits for the oldest
+     * one instead of queueing the whole input in memory. The buffers of joined leaves
+     * are reused, so a digest allocates at most one more buffer than that bound.
+     */
+    private void submitLeaf() {
+        final byte[] data = leaf;
+        final int len = leafOff;
+        final String algorithm = this.algorithm;
+
+        leaves.add(pool.submit(() -> leafDigest(newDigest(algorithm), data, 0, len)));
+        inFlight.add(data);
+
+        while (leaves.size() - joined > 2 * pool.getParallelism()
+                || joined < leaves.size() && leaves.get(joined).isDone()) {
+            leaves.get(joined++).join();
+            free.add(inFlight.poll());
+        }
+
+        leaf = free.isEmpty() ? new byte[LEAF_SIZE] : free.poll();
+        leafOff = 0;
+    }
+
+    /**
+     * @param algorithm "GOST3411-2012.512" or "GOST3411-2012.256"
+     * @return H(0x00 || data[offset, offset + len)), the digest of one leaf
+     */
+    public static byte[] leafDigest(String algorithm, byte[] data, int offset, int len)
+            throws NoSuchAlgorithmException {
+        if (offset < 0 || len < 0 || len > LEAF_SIZE || offset > data.length - len) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + len + ", array " + data.length);
+        }
+        return leafDigest(GOSTDigest.getInstance(algorithm), data, offset, len);
+    }
+
+    /**
+     * @param leaves leaf digests in input order
+     * @return the root, which is the tree digest of the input
+     */
+    public static byte[] root(String algorithm, List<byte[]> leaves) throws NoSuchAlgorithmException {
+        if (leaves.isEmpty()) {
+            throw new IllegalArgumentException("A tree has at least one leaf");
+        }
+        GOSTDigest digest = GOSTDigest.getInstance(algorithm);
+        List<byte[]> level = leaves;
+        while (level.size() > 1) {
+            level = nextLevel(digest, level);
+        }
+        return level.get(0).clone();
+    }
+
+    /**
+     * @param leaves leaf digests in input order
+     * @param index leaf to prove
+     * @return the sibling digests on the path from the leaf to the root, bottom up; levels
+     * where the node is carried up unpaired contribute none
+     */
+    public static List<byte[]> proof(String algorithm, List<byte[]> leaves, int index)
+            throws NoSuchAlgorithmException {
+        if (index < 0 || index >= leaves.size()) {
+            throw new IndexOutOfBoundsException("leaf " + index + " of " + leaves.size());
+        }
+        GOSTDigest digest = GOSTDigest.getInstance(algorithm);
+        List<byte[]> proof = new ArrayList<>();
+        List<byte[]> level = leaves;
+        for (int i = index; level.size() > 1; i >>>= 1) {
+            if ((i & 1) == 1) {
+                proof.add(level.get(i - 1).clone());
+            } else if (i + 1 < level.size()) {
+                proof.add(level.get(i + 1).clone());
+            }
+            level = nextLevel(digest, level);
+        }
+        return proof;
+    }
+
+    /**
+     * Checks the bytes of one leaf against the root.
+     *
+     * @param index position of the leaf
+     * @param leafCount number of leaves of the tree
+     * @param proof as returned by proof()
+     */
+    public static boolean verify(String algorithm, byte[] data, int offset, int len, int index, int leafCount,
+                                 List<byte[]> proof, byte[] root) throws NoSuchAlgorithmException {
+        if (index < 0 || index >= leafCount) {
+            return false;
+        }
+        GOSTDigest digest = GOSTDigest.getInstance(algorithm);
+        byte[] node = leafDigest(algorithm, data, offset, len);
+        int used = 0;
+        for (int i = index, size = leafCount; size > 1; i >>>= 1, size = (size + 1) >>> 1) {
+            if ((i & 1) == 1 || i + 1 < size) {
+                if (used == proof.size()) {
+                    return false;
+                }
+                byte[] sibling = proof.get(used++);
+                node = (i & 1) == 1 ? node(digest, sibling, node) : node(digest, node, sibling);
+            }
+        }
+        return used == proof.size() && MessageDigest.isEqual(node, root);
+    }
+
+    private static byte[] leafDigest(GOSTDigest digest, byte[] data, int offset, int len) {
+        digest.engineUpdate(LEAF);
+        digest.engineUpdate(data, offset, len);
+        return digest.engineDigest();
+    }
+
+    private static byte[] node(GOSTDigest digest, byte[] left, byte[] right) {
+        digest.engineUpdate(NODE);
+        digest.engineUpdate(left, 0, left.length);
+        digest.engineUpdate(right, 0, right.length);
+        return digest.engineDigest();
+    }
+
+    private static List<byte[]> nextLevel(GOSTDigest digest, List<byte[]> level) {
+        List<byte[]> next = new ArrayList<>((level.size() + 1) / 2);
+        for (int i = 0; i + 1 < level.size(); i += 2) {
+            next.add(node(digest, level.get(i), level.get(i + 1)));
+        }
+        if (level.size() % 2 == 1) {
+            next.add(level.get(level.size() - 1));
+        }
+        return next;
+    }
+
+    private static GOSTDigest newDigest(String algorithm) {
+        try {
+            return GOSTDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ru.fsb.gost;
+
+import java.security.spec.KeySpec;
+
+/**
+ * Input of HKDF (RFC 5869) on GOST R 34.11-2012: either both steps, or only
+ * HKDF-Extract or only HKDF-Expand. Instances are made with the static methods.
+ */
+public final class HKDFKeySpec implements KeySpec {
+
+    private final static byte[] EMPTY = new byte[0];
+
+    private final byte[] salt;
+    private final byte[] ikm;
+    private final byte[] prk;
+    private final byte[] info;
+    private final int keyLength;
+
+    private HKDFKeySpec(byte[] salt, byte[] ikm, byte[] prk, byte[] info, int keyLength) {
+        if (keyLength < 0 || keyLength % 8 != 0) {
+            throw new IllegalArgumentException("Key length must be a non-negative multiple of 8 bits: " + keyLength);
+        }
+        this.salt = salt == null ? EMPTY : salt.clone();
+        this.ikm = ikm == null ? null : ikm.clone();
+        this.prk = prk == null ? null : prk.clone();
+        this.info = info == null ? EMPTY : info.clone();
+        this.keyLength = keyLength;
+    }
+
+    /**
+     * HKDF-Extract followed by HKDF-Expand.
+     *
+     * @param salt may be null, meaning HashLen zero bytes
+     * @param info may be null
+     * @param keyLength L in bits, a positive multiple of 8 up to 255 * HashLen
+     */
+    public static HKDFKeySpec extractThenExpand(byte[] salt, byte[] ikm, byte[] info, int keyLength) {
+        checkLength(keyLength);
+        return new HKDFKeySpec(salt, notNull(ikm), null, info, keyLength);
+    }
+
+    /**
+     * HKDF-Extract only; the derived key is the HashLen-byte PRK.
+     *
+     * @param salt may be null, meaning HashLen zero bytes
+     */
+    public static HKDFKeySpec extract(byte[] salt, byte[] ikm) {
+        return new HKDFKeySpec(salt, notNull(ikm), null, null, 0);
+    }
+
+    /**
+     * HKDF-Expand only.
+     *
+     * @param info may be null
+     * @param keyLength L in bits, a positive multiple of 8 up to 255 * HashLen
+     */
+    public static HKDFKeySpec expand(byte[] prk, byte[] info, int keyLength) {
+        checkLength(keyLength);
+        return new HKDFKeySpec(null, null, notNull(prk), info, keyLength);
+    }
+
+    private static byte[] notNull(byte[] keyMaterial) {
+        if (keyMaterial == null) {
+            throw new NullPointerException("Key material must be given");
+        }
+        return keyMaterial;
+    }
+
+    private static void checkLength(int keyLength) {
+        if (keyLength <= 0) {
+            throw new IllegalArgumentException("Key length must be a positive multiple of 8 bits: " + keyLength);
+        }
+    }
+
+    public boolean isExtract() {
+        return ikm != null;
+    }
+
+    public boolean isExpand() {
+        return keyLength > 0;
+    }
+
+    public byte[] getSalt() {
+        return salt.clone();
+    }
+
+    /**
+     * @return the input keying material, or null if the spec only expands
+     */
+    public byte[] getIKM() {
+        return ikm == null ? null : ikm.clone();
+    }
+
+    /**
+     * @return the pseudorandom key, or null if the spec extracts it
+     */
+    public byte[] getPRK() {
+        return prk == null ? null : prk.clone();
+    }
+
+    public byte[] getInfo() {
+        return info.clone();
+    }
+
+    /**
+     * @return L in bits, or 0 if the spec only extracts
+     */
+    public int getKeyLength() {
+        return keyLength;
+    }
+
+    /**
+     * Direct access for the factories in this package, which must not copy the keys.
+     */
+    byte[] salt() {
+        return salt;
+    }
+
+    byte[] ikm() {
+        return ikm;
+    }
+
+    byte[] prk() {
+        return prk;
+    }
+
+    byte[] info() {
+        return info;
+    }
+}
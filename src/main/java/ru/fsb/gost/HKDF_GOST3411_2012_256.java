@@ -0,0 +1,13 @@
+package ru.fsb.gost;
+
+/**
+ * HKDF (RFC 5869) on HMAC-GOST3411-2012-256.
+ */
+public final class HKDF_GOST3411_2012_256 extends GOSTHKDF {
+
+    public final static String ALGORITHM = "HKDF-GOST3411-2012-256";
+
+    public HKDF_GOST3411_2012_256() {
+        super(ALGORITHM, new HMAC_GOST3411_2012_256(), new HMAC_GOST3411_2012_256());
+    }
+}
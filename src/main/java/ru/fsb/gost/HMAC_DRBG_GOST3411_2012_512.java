@@ -0,0 +1,192 @@
+package ru.fsb.gost;
+
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.SecureRandom;
+import java.security.SecureRandomSpi;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * SecureRandom service over GOSTHmacDrbg, seeded from the platform SecureRandom.
+ *
+ * A single synchronized DRBG serializes every caller, so the service keeps a power of
+ * two stripes of independently instantiated generators and picks one by thread id; each
+ * stripe is locked only for the duration of one request. The provider registers the
+ * service as ThreadSafe, so SecureRandom does not add a lock of its own on Java 9 and later.
+ *
+ * Entropy is never gathered on the hot path once a stripe is running: after
+ * RESEED_SOFT requests a stripe asks the background reseeder thread for fresh entropy
+ * and keeps generating; the next request after it arrives reseeds, which costs a few
+ * HMACs. Only a stripe that reaches RESEED_HARD without fresh entropy blocks to get it.
+ *
+ * SecureRandom is Serializable, but this service is not: a serialized generator state
+ * would let every copy produce the same output, so writing or reading one throws
+ * NotSerializableException.
+ */
+public final class HMAC_DRBG_GOST3411_2012_512 extends SecureRandomSpi {
+
+    public final static String ALGORITHM = "HMAC_DRBG-GOST3411-2012-512";
+
+    final static int RESEED_SOFT = 1 << 20;
+    final static int RESEED_HARD = 1 << 24;
+
+    // Entropy input plus a half-length nonce
+    private final static int SEED_BYTES = GOSTHmacDrbg.MIN_ENTROPY_BYTES * 3 / 2;
+
+    private final static Executor RESEEDER = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "gosthash-drbg-reseed");
+            t.setDaemon(true);
+            return t;
+        }
+    });
+
+    private static volatile SecureRandom entropySource;
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Stripe[] stripes;
+
+    public HMAC_DRBG_GOST3411_2012_512() {
+        int n = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+        stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new Stripe(i);
+        }
+    }
+
+    /**
+     * Mixes the seed into every stripe as additional input to a reseed; it supplements
+     * the system entropy and never replaces it.
+     *
+     * Unlike the periodic reseeds this runs synchronously on the calling thread, so the
+     * seed is in effect for every stripe when it returns: it takes fresh system entropy
+     * for each stripe, which may block while the platform source gathers it. The entropy
+     * is read before a stripe is locked, so other callers only wait for the HMACs.
+     */
+    @Override
+    protected void engineSetSeed(byte[] seed) {
+        for (Stripe stripe : stripes) {
+            byte[] entropy = entropy();
+            synchronized (stripe) {
+                stripe.reseed(entropy, seed);
+            }
+        }
+    }
+
+    @Override
+    protected void engineNextBytes(byte[] bytes) {
+        Stripe stripe = stripes[(int)Thread.currentThread().getId() & (stripes.length - 1)];
+        int offset = 0;
+        do {
+            int len = Math.min(bytes.length - offset, GOSTHmacDrbg.MAX_BYTES_PER_REQUEST);
+            synchronized (stripe) {
+                stripe.generate(bytes, offset, len);
+            }
+            offset += len;
+        } while (offset < bytes.length);
+    }
+
+    @Override
+    protected byte[] engineGenerateSeed(int numBytes) {
+        return entropySource().generateSeed(numBytes);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws NotSerializableException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+    private void readObject(ObjectInputStream in) throws NotSerializableException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+    private static SecureRandom entropySource() {
+        SecureRandom source = entropySource;
+        if (source == null) {
+            synchronized (HMAC_DRBG_GOST3411_2012_512.class) {
+                source = entropySource;
+                if (source == null) {
+                    entropySource = source = new SecureRandom();
+                }
+            }
+        }
+        return source;
+    }
+
+    private static byte[] entropy() {
+        byte[] seed = new byte[SEED_BYTES];
+        entropySource().nextBytes(seed);
+        return seed;
+    }
+
+    private final static class Stripe implements Runnable {
+        private final int index;
+        private GOSTHmacDrbg drbg;
+        private int requests;
+        private boolean requested;
+        private byte[] fresh;
+
+        Stripe(int index) {
+            this.index = index;
+        }
+
+        // Called with the stripe locked
+        void generate(byte[] out, int offset, int len) {
+            if (drbg == null) {
+                drbg = new GOSTHmacDrbg(entropy(), null, personalization());
+            } else if (fresh != null) {
+                reseed(fresh, null);
+            } else if (requests >= RESEED_HARD) {
+                reseed(entropy(), null);
+            } else if (requests >= RESEED_SOFT && !requested) {
+                requested = true;
+                RESEEDER.execute(this);
+            }
+            drbg.generate(out, offset, len, null);
+            requests++;
+        }
+
+        // Called with the stripe locked
+        void reseed(byte[] entropy, byte[] additional) {
+            if (drbg == null) {
+                drbg = new GOSTHmacDrbg(entropy, null, personalization());
+                if (additional != null && additional.length > 0) {
+                    drbg.reseed(entropy(), additional);
+                }
+            } else {
+                drbg.reseed(entropy, additional);
+            }
+            requests = 0;
+            requested = false;
+            fresh = null;
+        }
+
+        // Runs on the reseeder thread
+        @Override
+        public void run() {
+            byte[] seed = entropy();
+            synchronized (this) {
+                if (requested) {
+                    fresh = seed;
+                }
+            }
+        }
+
+        private byte[] personalization() {
+            long time = System.nanoTime();
+            byte[] p = new byte[12];
+            for (int i = 0; i < 8; i++) {
+                p[i] = (byte)(time >>> (i << 3));
+            }
+            p[8] = (byte)(index >>> 24);
+            p[9] = (byte)(index >>> 16);
+            p[10] = (byte)(index >>> 8);
+            p[11] = (byte)index;
+            return p;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package ru.fsb.gost;
+
+public final class HMAC_GOST3411_2012_256 extends GOSTHMac {
+
+    public HMAC_GOST3411_2012_256() {
+        super(new GOST3411_2012_256());
+    }
+}
@@ -0,0 +1,83 @@
+package ru.fsb.gost;
+
+import java.security.spec.KeySpec;
+
+/**
+ * Input of the RFC 7836 key derivation functions: the master key K_in, label, seed,
+ * the length L of the keying material in bits and the size R in bytes of the block
+ * counter of KDF_TREE. KDF_GOSTR3411_2012_256 always derives 256 bits with R = 1.
+ */
+public final class KDFTreeKeySpec implements KeySpec {
+
+    private final byte[] key;
+    private final byte[] label;
+    private final byte[] seed;
+    private final int keyLength;
+    private final int r;
+
+    /**
+     * Parameters for KDF_GOSTR3411_2012_256: 256 bits, R = 1.
+     */
+    public KDFTreeKeySpec(byte[] key, byte[] label, byte[] seed) {
+        this(key, label, seed, 256, 1);
+    }
+
+    /**
+     * @param keyLength L, a positive multiple of 8 that needs fewer than 2^(8R) blocks of 256 bits
+     * @param r size of the block counter in bytes, 1 to 4
+     */
+    public KDFTreeKeySpec(byte[] key, byte[] label, byte[] seed, int keyLength, int r) {
+        if (key == null || label == null || seed == null) {
+            throw new NullPointerException("Key, label and seed must be given");
+        }
+        if (r < 1 || r > 4) {
+            throw new IllegalArgumentException("R must be 1 to 4 bytes: " + r);
+        }
+        if (keyLength <= 0 || keyLength % 8 != 0) {
+            throw new IllegalArgumentException("Key length must be a positive multiple of 8 bits: " + keyLength);
+        }
+        if (r < 4 && (keyLength + 255) / 256 >= 1 << (8 * r)) {
+            throw new IllegalArgumentException("Key length " + keyLength + " needs a larger R than " + r);
+        }
+        this.key = key.clone();
+        this.label = label.clone();
+        this.seed = seed.clone();
+        this.keyLength = keyLength;
+        this.r = r;
+    }
+
+    public byte[] getKey() {
+        return key.clone();
+    }
+
+    public byte[] getLabel() {
+        return label.clone();
+    }
+
+    public byte[] getSeed() {
+        return seed.clone();
+    }
+
+    public int getKeyLength() {
+        return keyLength;
+    }
+
+    public int getR() {
+        return r;
+    }
+
+    /**
+     * Direct access for the factories in this package, which must not copy the key.
+     */
+    byte[] key() {
+        return key;
+    }
+
+    byte[] label() {
+        return label;
+    }
+
+    byte[] seed() {
+        return seed;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.fsb.gost;
+
+import java.security.spec.InvalidKeySpecException;
+
+/**
+ * KDF_GOSTR3411_2012_256 (RFC 7836, 4.4):
+ *
+ * HMAC_GOSTR3411_2012_256(K_in, 0x01 | label | 0x00 | seed | 0x01 | 0x00)
+ *
+ * which is KDF_TREE with L = 256 and R = 1.
+ */
+public final class KDF_GOSTR3411_2012_256 extends GOSTKDFTree {
+
+    public final static String ALGORITHM = "KDF_GOSTR3411_2012_256";
+
+    public KDF_GOSTR3411_2012_256() {
+        super(ALGORITHM);
+    }
+
+    @Override
+    void check(KDFTreeKeySpec spec) throws InvalidKeySpecException {
+        if (spec.getKeyLength() != 256 || spec.getR() != 1) {
+            throw new InvalidKeySpecException(ALGORITHM + " derives 256 bits with R = 1");
+        }
+    }
+}
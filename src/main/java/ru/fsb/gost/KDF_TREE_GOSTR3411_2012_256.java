@@ -0,0 +1,17 @@
+package ru.fsb.gost;
+
+/**
+ * KDF_TREE_GOSTR3411_2012_256 (RFC 7836, 4.5) with any L and R a KDFTreeKeySpec allows.
+ */
+public final class KDF_TREE_GOSTR3411_2012_256 extends GOSTKDFTree {
+
+    public final static String ALGORITHM = "KDF_TREE_GOSTR3411_2012_256";
+
+    public KDF_TREE_GOSTR3411_2012_256() {
+        super(ALGORITHM);
+    }
+
+    @Override
+    void check(KDFTreeKeySpec spec) {
+    }
+}
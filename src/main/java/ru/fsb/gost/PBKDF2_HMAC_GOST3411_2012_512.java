@@ -0,0 +1,126 @@
+package ru.fsb.gost;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.KeySpec;
+import java.util.Arrays;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactorySpi;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * PBKDF2 (RFC 8018) with HMAC-GOST3411-2012-512 as the pseudorandom function.
+ *
+ * Every U_j after the first is exactly one 64-byte block, so the iteration loop keeps
+ * U_j and the running xor in lane form and runs HMAC straight on the lanes from the
+ * cached key pad midstates: no allocation, byte conversion or JCA dispatch per iteration.
+ */
+public final class PBKDF2_HMAC_GOST3411_2012_512 extends SecretKeyFactorySpi {
+
+    public final static String ALGORITHM = "PBKDF2WithHMAC-GOST3411-2012-512";
+
+    @Override
+    protected SecretKey engineGenerateSecret(KeySpec keySpec) throws InvalidKeySpecException {
+        if (!(keySpec instanceof PBEKeySpec)) {
+            throw new InvalidKeySpecException("Only PBEKeySpec is accepted");
+        }
+        PBEKeySpec spec = (PBEKeySpec)keySpec;
+
+        byte[] salt = spec.getSalt();
+        if (salt == null) {
+            throw new InvalidKeySpecException("Salt must be specified");
+        }
+        if (spec.getIterationCount() <= 0) {
+            throw new InvalidKeySpecException("Iteration count must be positive");
+        }
+        if (spec.getKeyLength() <= 0 || spec.getKeyLength() % 8 != 0) {
+            throw new InvalidKeySpecException("Key length must be a positive multiple of 8 bits");
+        }
+
+        char[] password = spec.getPassword();
+        byte[] p = toUTF8(password);
+        Arrays.fill(password, '\0');
+
+        byte[] key = derive(p, salt, spec.getIterationCount(), spec.getKeyLength() / 8);
+        Arrays.fill(p, (byte)0);
+        try {
+            return new SecretKeySpec(key, ALGORITHM);
+        } finally {
+            Arrays.fill(key, (byte)0);
+        }
+    }
+
+    static byte[] derive(byte[] password, byte[] salt, int iterations, int dkLen) {
+        GOSTHMac prf = new HMAC_GOST3411_2012_512();
+        prf.init(password);
+
+        byte[] dk = new byte[dkLen];
+        byte[] out = new byte[64];
+        long[] u = new long[8];
+        long[] t = new long[8];
+
+        for (int i = 1, off = 0; off < dkLen; i++, off += 64) {
+            prf.engineUpdate(salt, 0, salt.length);
+            prf.engineUpdate((byte)(i >>> 24));
+            prf.engineUpdate((byte)(i >>> 16));
+            prf.engineUpdate((byte)(i >>> 8));
+            prf.engineUpdate((byte)i);
+            prf.doFinal(out, 0);
+
+            GOSTDigest.inputToLanes(out, 0, u);
+            System.arraycopy(u, 0, t, 0, 8);
+            for (int j = 1; j < iterations; j++) {
+                prf.doFinal(u);
+                t[0] ^= u[0];
+                t[1] ^= u[1];
+                t[2] ^= u[2];
+                t[3] ^= u[3];
+                t[4] ^= u[4];
+                t[5] ^= u[5];
+                t[6] ^= u[6];
+                t[7] ^= u[7];
+            }
+
+            GOSTDigest.lanesToOutput(t, 8, out, 0);
+            System.arraycopy(out, 0, dk, off, Math.min(64, dkLen - off));
+        }
+
+        Arrays.fill(out, (byte)0);
+        Arrays.fill(u, 0L);
+        Arrays.fill(t, 0L);
+        return dk;
+    }
+
+    private static byte[] toUTF8(char[] password) {
+        ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        byte[] result = new byte[encoded.remaining()];
+        encoded.get(result);
+        if (encoded.hasArray()) {
+            Arrays.fill(encoded.array(), (byte)0);
+        }
+        return result;
+    }
+
+    @Override
+    protected KeySpec engineGetKeySpec(SecretKey key, Class<?> keySpec) throws InvalidKeySpecException {
+        if (key == null || !ALGORITHM.equalsIgnoreCase(key.getAlgorithm()) || !"RAW".equals(key.getFormat())) {
+            throw new InvalidKeySpecException("Key is not a " + ALGORITHM + " key");
+        }
+        if (keySpec != null && keySpec.isAssignableFrom(SecretKeySpec.class)) {
+            return new SecretKeySpec(key.getEncoded(), ALGORITHM);
+        }
+        throw new InvalidKeySpecException("Unsupported key specification: " + keySpec);
+    }
+
+    @Override
+    protected SecretKey engineTranslateKey(SecretKey key) throws InvalidKeyException {
+        if (key == null || !ALGORITHM.equalsIgnoreCase(key.getAlgorithm()) || !"RAW".equals(key.getFormat())) {
+            throw new InvalidKeyException("Key is not a " + ALGORITHM + " key");
+        }
+        return new SecretKeySpec(key.getEncoded(), ALGORITHM);
+    }
+}
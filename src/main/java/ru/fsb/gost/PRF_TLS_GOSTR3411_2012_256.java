@@ -0,0 +1,13 @@
+package ru.fsb.gost;
+
+/**
+ * PRF_TLS_GOSTR3411_2012_256 (RFC 7836, 4.1): P_hash on HMAC_GOSTR3411_2012_256.
+ */
+public final class PRF_TLS_GOSTR3411_2012_256 extends GOSTTLSPRF {
+
+    public final static String ALGORITHM = "PRF_TLS_GOSTR3411_2012_256";
+
+    public PRF_TLS_GOSTR3411_2012_256() {
+        super(ALGORITHM, new HMAC_GOST3411_2012_256());
+    }
+}
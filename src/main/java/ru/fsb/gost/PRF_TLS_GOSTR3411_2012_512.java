@@ -0,0 +1,13 @@
+package ru.fsb.gost;
+
+/**
+ * PRF_TLS_GOSTR3411_2012_512 (RFC 7836, 4.1): P_hash on HMAC_GOSTR3411_2012_512.
+ */
+public final class PRF_TLS_GOSTR3411_2012_512 extends GOSTTLSPRF {
+
+    public final static String ALGORITHM = "PRF_TLS_GOSTR3411_2012_512";
+
+    public PRF_TLS_GOSTR3411_2012_512() {
+        super(ALGORITHM, new HMAC_GOST3411_2012_512());
+    }
+}
@@ -0,0 +1,62 @@
+package ru.fsb.gost;
+
+import java.security.spec.KeySpec;
+
+/**
+ * Input of the TLS pseudorandom functions of RFC 7836, 4.1: the secret, the label, the
+ * seed and the length of the keying material in bits.
+ */
+public final class TLSPRFKeySpec implements KeySpec {
+
+    private final byte[] secret;
+    private final byte[] label;
+    private final byte[] seed;
+    private final int keyLength;
+
+    /**
+     * @param keyLength a positive multiple of 8
+     */
+    public TLSPRFKeySpec(byte[] secret, byte[] label, byte[] seed, int keyLength) {
+        if (secret == null || label == null || seed == null) {
+            throw new NullPointerException("Secret, label and seed must be given");
+        }
+        if (keyLength <= 0 || keyLength % 8 != 0) {
+            throw new IllegalArgumentException("Key length must be a positive multiple of 8 bits: " + keyLength);
+        }
+        this.secret = secret.clone();
+        this.label = label.clone();
+        this.seed = seed.clone();
+        this.keyLength = keyLength;
+    }
+
+    public byte[] getSecret() {
+        return secret.clone();
+    }
+
+    public byte[] getLabel() {
+        return label.clone();
+    }
+
+    public byte[] getSeed() {
+        return seed.clone();
+    }
+
+    public int getKeyLength() {
+        return keyLength;
+    }
+
+    /**
+     * Direct access for the factories in this package, which must not copy the secret.
+     */
+    byte[] secret() {
+        return secret;
+    }
+
+    byte[] label() {
+        return label;
+    }
+
+    byte[] seed() {
+        return seed;
+    }
+}
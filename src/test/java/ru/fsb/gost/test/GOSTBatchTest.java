@@ -0,0 +1,65 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTBatch;
+import ru.fsb.gost.GOSTProvider;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class GOSTBatchTest {
+
+    public GOSTBatchTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    @Test
+    public void testDigestAllMatchesMessageDigest() throws NoSuchAlgorithmException {
+        Random random = new Random(1);
+        List<byte[]> messages = new ArrayList<>();
+        for (int len : new int[] {0, 1, 63, 64, 65, 127, 128, 1000, 5, 4096, 64, 0, 200}) {
+            byte[] message = new byte[len];
+            random.nextBytes(message);
+            messages.add(message);
+        }
+
+        for (String algorithm : new String[] {"GOST3411-2012.512", "GOST3411-2012.256"}) {
+            MessageDigest md = MessageDigest.getInstance(algorithm);
+            byte[][] digests = GOSTBatch.digestAll(messages, algorithm);
+
+            int digestLength = md.getDigestLength();
+            byte[] out = new byte[1 + messages.size() * digestLength];
+            assertEquals(out.length - 1, GOSTBatch.digestAll(messages, algorithm, out, 1));
+
+            assertEquals(messages.size(), digests.length);
+            for (int i = 0; i < digests.length; i++) {
+                byte[] expected = md.digest(messages.get(i));
+                assertArrayEquals(expected, digests[i]);
+                assertArrayEquals(expected, Arrays.copyOfRange(out, 1 + i * digestLength, 1 + (i + 1) * digestLength));
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyAndSingleBatch() throws NoSuchAlgorithmException {
+        assertEquals(0, GOSTBatch.digestAll(Collections.<byte[]>emptyList(), "GOST3411-2012.512").length);
+
+        byte[] message = new byte[100];
+        byte[][] digests = GOSTBatch.digestAll(new byte[][] {message}, "GOST3411-2012.256");
+        assertArrayEquals(MessageDigest.getInstance("GOST3411-2012.256").digest(message), digests[0]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNegativeOffset() throws NoSuchAlgorithmException {
+        GOSTBatch.digestAll(Collections.singletonList(new byte[1]), "GOST3411-2012.256", new byte[64], -1);
+    }
+}
@@ -0,0 +1,119 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTChunker;
+import ru.fsb.gost.GOSTProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class GOSTChunkerTest {
+
+    public GOSTChunkerTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    private static byte[] content(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+
+    /**
+     * Returns at most limit bytes per read.
+     */
+    private static InputStream shortReads(byte[] content, final int limit) {
+        return new ByteArrayInputStream(content) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, limit));
+            }
+        };
+    }
+
+    private static List<String> chunks(GOSTChunker chunker, InputStream in, ExecutorService pool,
+                                       final byte[] content) throws IOException, NoSuchAlgorithmException {
+        final MessageDigest md = MessageDigest.getInstance("GOST3411-2012.256");
+        final List<String> result = new ArrayList<>();
+        final long[] next = {0};
+
+        GOSTChunker.Listener listener = chunk -> {
+            assertEquals(next[0], chunk.getOffset());
+            ByteBuffer data = chunk.getData();
+            byte[] bytes = new byte[data.remaining()];
+            data.get(bytes);
+            assertArrayEquals(Arrays.copyOfRange(content, (int)chunk.getOffset(),
+                    (int)chunk.getOffset() + chunk.getLength()), bytes);
+            assertArrayEquals(md.digest(bytes), chunk.getDigest());
+            next[0] += chunk.getLength();
+            result.add(chunk.getLength() + ":" + Arrays.toString(chunk.getDigest()));
+        };
+
+        long total = pool == null ? chunker.chunk(in, listener) : chunker.chunk(in, pool, listener);
+        assertEquals(content.length, total);
+        assertEquals(content.length, next[0]);
+        return result;
+    }
+
+    @Test
+    public void testChunks() throws IOException, NoSuchAlgorithmException {
+        GOSTChunker chunker = new GOSTChunker(256, 1024, 4096);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            for (int size : new int[] {0, 1, 255, 256, 257, 4096, 100000, 3 * 1024 * 1024 + 5}) {
+                byte[] content = content(size, size);
+                List<String> expected = chunks(chunker, new ByteArrayInputStream(content), null, content);
+
+                for (int i = 0; i < expected.size(); i++) {
+                    int length = Integer.parseInt(expected.get(i).split(":")[0]);
+                    assertTrue(length <= 4096);
+                    assertTrue(i == expected.size() - 1 || length >= 256);
+                }
+
+                assertEquals(expected, chunks(chunker, new ByteArrayInputStream(content), pool, content));
+                assertEquals(expected, chunks(chunker, shortReads(content, 1000), pool, content));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testContentDefined() throws IOException, NoSuchAlgorithmException {
+        GOSTChunker chunker = new GOSTChunker();
+        byte[] content = content(2 * 1024 * 1024, 1);
+        List<String> original = chunks(chunker, new ByteArrayInputStream(content), null, content);
+
+        // Insert 10 bytes in the middle: only the chunks around the insertion change
+        byte[] edited = new byte[content.length + 10];
+        System.arraycopy(content, 0, edited, 0, content.length / 2);
+        System.arraycopy(content, content.length / 2, edited, content.length / 2 + 10, content.length / 2);
+        List<String> changed = chunks(chunker, new ByteArrayInputStream(edited), null, edited);
+
+        Set<String> shared = new HashSet<>(original);
+        shared.retainAll(changed);
+        assertTrue(original.size() > 100);
+        assertTrue("shared " + shared.size() + " of " + original.size(), shared.size() >= original.size() - 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAverageNotPowerOfTwo() {
+        new GOSTChunker(1000, 3000, 9000);
+    }
+}
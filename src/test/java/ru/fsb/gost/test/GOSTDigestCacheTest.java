@@ -0,0 +1,132 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTDigestCache;
+import ru.fsb.gost.GOSTProvider;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.Random;
+
+public class GOSTDigestCacheTest {
+
+    public GOSTDigestCacheTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    private static byte[] content(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+
+    @Test
+    public void testHitsAndMisses() throws NoSuchAlgorithmException {
+        for (String algorithm : new String[] {"GOST3411-2012.512", "GOST3411-2012.256"}) {
+            MessageDigest md = MessageDigest.getInstance(algorithm);
+            GOSTDigestCache cache = new GOSTDigestCache(algorithm, 100, 1 << 20);
+
+            for (int size : new int[] {0, 1, 7, 8, 9, 63, 64, 65, 1500}) {
+                byte[] message = content(size, size);
+                byte[] expected = md.digest(message);
+                assertArrayEquals(expected, cache.digest(message));
+                // An equal array, not the same one
+                assertArrayEquals(expected, cache.digest(message.clone()));
+
+                byte[] out = new byte[expected.length + 2];
+                cache.digest(message, out, 2);
+                assertArrayEquals(expected, Arrays.copyOfRange(out, 2, out.length));
+            }
+            assertEquals(9, cache.missCount());
+            assertEquals(18, cache.hitCount());
+            assertEquals(9, cache.size());
+            assertEquals(2.0 / 3, cache.hitRate(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testChangedInput() throws NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance("GOST3411-2012.256");
+        GOSTDigestCache cache = new GOSTDigestCache("GOST3411-2012.256", 100, 1 << 20);
+        byte[] message = content(1000, 1);
+        cache.digest(message);
+
+        // Mutating the caller's array must not return the stale digest
+        message[500] ^= 1;
+        assertArrayEquals(md.digest(message), cache.digest(message));
+        assertEquals(0, cache.hitCount());
+
+        // Neither must mutating a returned digest affect the cached one
+        byte[] digest = cache.digest(message);
+        digest[0] ^= 1;
+        assertArrayEquals(md.digest(message), cache.digest(message));
+
+        // A range of a larger array hits the entry of the same content
+        byte[] padded = new byte[message.length + 10];
+        System.arraycopy(message, 0, padded, 5, message.length);
+        assertArrayEquals(md.digest(message), cache.digest(padded, 5, message.length));
+        assertEquals(3, cache.hitCount());
+    }
+
+    @Test
+    public void testEviction() throws NoSuchAlgorithmException {
+        GOSTDigestCache cache = new GOSTDigestCache("GOST3411-2012.512", 1, 1 << 20);
+        byte[] a = content(100, 1);
+        byte[] b = content(100, 2);
+        cache.digest(a);
+        cache.digest(a);
+        cache.digest(b);
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.evictionCount());
+        cache.digest(a);
+        assertEquals(3, cache.missCount());
+
+        // Bounded by bytes: inputs longer than the bound are not cached
+        cache = new GOSTDigestCache("GOST3411-2012.512", 1000, 50);
+        cache.digest(a);
+        cache.digest(a);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.hitCount());
+
+        // The byte bound is for the whole cache
+        cache = new GOSTDigestCache("GOST3411-2012.512", 1000, 250);
+        cache.digest(a);
+        cache.digest(b);
+        cache.digest(content(100, 3));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        cache.digest(a);
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * The bounds are global: a full cache is never evicted from, however its entries
+     * spread over segments, and an input of up to maxBytes is cached.
+     */
+    @Test
+    public void testBounds() throws NoSuchAlgorithmException {
+        GOSTDigestCache cache = new GOSTDigestCache("GOST3411-2012.256", 300, 1 << 20);
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < 300; i++) {
+                cache.digest(content(32, i));
+            }
+        }
+        assertEquals(300, cache.size());
+        assertEquals(0, cache.evictionCount());
+        assertEquals(300, cache.hitCount());
+
+        cache = new GOSTDigestCache("GOST3411-2012.256", 300, 100 * 1024);
+        byte[] large = content(60 * 1024, 1);
+        cache.digest(large);
+        cache.digest(large);
+        assertEquals(1, cache.hitCount());
+    }
+}
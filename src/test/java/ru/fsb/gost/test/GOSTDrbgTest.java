@@ -0,0 +1,190 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTHmacDrbg;
+import ru.fsb.gost.GOSTProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+public class GOSTDrbgTest {
+
+    private final static String MAC = "HMAC-GOST3411-2012-512";
+
+    public GOSTDrbgTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    private static byte[] sequence(int len, int start) {
+        byte[] b = new byte[len];
+        for (int i = 0; i < len; i++) {
+            b[i] = (byte)(start + i);
+        }
+        return b;
+    }
+
+    /**
+     * HMAC_DRBG of SP 800-90A, 10.1.2, written directly on the Mac service.
+     */
+    private static class Reference {
+        private byte[] K = new byte[64];
+        private byte[] V = new byte[64];
+
+        Reference(byte[] entropy, byte[] nonce, byte[] personalization) throws GeneralSecurityException {
+            Arrays.fill(V, (byte)1);
+            update(concat(entropy, nonce, personalization));
+        }
+
+        void reseed(byte[] entropy, byte[] additional) throws GeneralSecurityException {
+            update(concat(entropy, additional, null));
+        }
+
+        byte[] generate(int len, byte[] additional) throws GeneralSecurityException {
+            if (additional.length > 0) {
+                update(additional);
+            }
+            byte[] out = new byte[len];
+            for (int off = 0; off < len; off += 64) {
+                V = hmac(K, V);
+                System.arraycopy(V, 0, out, off, Math.min(64, len - off));
+            }
+            update(additional);
+            return out;
+        }
+
+        private void update(byte[] data) throws GeneralSecurityException {
+            K = hmac(K, concat(V, new byte[]{0}, data));
+            V = hmac(K, V);
+            if (data.length > 0) {
+                K = hmac(K, concat(V, new byte[]{1}, data));
+                V = hmac(K, V);
+            }
+        }
+
+        private static byte[] hmac(byte[] key, byte[] data) throws GeneralSecurityException {
+            Mac mac = Mac.getInstance(MAC);
+            mac.init(new SecretKeySpec(key, MAC));
+            return mac.doFinal(data);
+        }
+
+        private static byte[] concat(byte[] a, byte[] b, byte[] c) {
+            byte[] r = new byte[a.length + (b == null ? 0 : b.length) + (c == null ? 0 : c.length)];
+            System.arraycopy(a, 0, r, 0, a.length);
+            if (b != null) {
+                System.arraycopy(b, 0, r, a.length, b.length);
+            }
+            if (c != null) {
+                System.arraycopy(c, 0, r, r.length - c.length, c.length);
+            }
+            return r;
+        }
+    }
+
+    @Test
+    public void testReference() throws GeneralSecurityException {
+        byte[] entropy = sequence(48, 0);
+        byte[] nonce = sequence(16, 0x40);
+        byte[] personalization = sequence(7, 0x80);
+        GOSTHmacDrbg drbg = new GOSTHmacDrbg(entropy, nonce, personalization);
+        Reference ref = new Reference(entropy, nonce, personalization);
+
+        int[] lengths = {64, 1, 63, 65, 200, 0, 1000};
+        for (int i = 0; i < lengths.length; i++) {
+            byte[] additional = i % 2 == 0 ? new byte[0] : sequence(i * 10, i);
+            byte[] out = new byte[lengths[i] + 3];
+            drbg.generate(out, 3, lengths[i], additional);
+            assertArrayEquals("request " + i, ref.generate(lengths[i], additional),
+                    Arrays.copyOfRange(out, 3, out.length));
+
+            if (i == 3) {
+                drbg.reseed(sequence(32, 0xc0), null);
+                ref.reseed(sequence(32, 0xc0), null);
+            }
+        }
+    }
+
+    @Test
+    public void testLimits() {
+        try {
+            new GOSTHmacDrbg(new byte[31], null, null);
+            fail("Short entropy accepted");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        GOSTHmacDrbg drbg = new GOSTHmacDrbg(new byte[32], null, null);
+        try {
+            drbg.generate(new byte[GOSTHmacDrbg.MAX_BYTES_PER_REQUEST + 1], 0,
+                    GOSTHmacDrbg.MAX_BYTES_PER_REQUEST + 1, null);
+            fail("Oversized request accepted");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(GOSTHmacDrbg.RESEED_INTERVAL, drbg.remaining());
+    }
+
+    @Test
+    public void testSecureRandom() throws Exception {
+        SecureRandom random = SecureRandom.getInstance("HMAC_DRBG-GOST3411-2012-512");
+        assertEquals("GOST", random.getProvider().getName());
+
+        // Larger than one request, so nextBytes splits it
+        byte[] big = new byte[GOSTHmacDrbg.MAX_BYTES_PER_REQUEST * 2 + 5];
+        random.nextBytes(big);
+        assertFalse(Arrays.equals(new byte[big.length], big));
+
+        random.setSeed(new byte[]{1, 2, 3});
+        byte[] a = new byte[32];
+        byte[] b = new byte[32];
+        random.nextBytes(a);
+        random.nextBytes(b);
+        assertFalse(Arrays.equals(a, b));
+        assertEquals(16, random.generateSeed(16).length);
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        final SecureRandom random = SecureRandom.getInstance("HMAC_DRBG-GOST3411-2012-512");
+        final Set<String> seen = new HashSet<String>();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 200; i++) {
+                        byte[] b = new byte[16];
+                        random.nextBytes(b);
+                        synchronized (seen) {
+                            seen.add(Arrays.toString(b));
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threads.length * 200, seen.size());
+    }
+
+    @Test(expected = NotSerializableException.class)
+    public void testNotSerializable() throws GeneralSecurityException, IOException {
+        SecureRandom random = SecureRandom.getInstance("HMAC_DRBG-GOST3411-2012-512");
+        random.nextBytes(new byte[16]);
+        new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(random);
+    }
+}
@@ -0,0 +1,159 @@
+package ru.fsb.gost.test;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTFiles;
+import ru.fsb.gost.GOSTProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class GOSTFilesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public GOSTFilesTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    private Path createFile(int size) throws IOException {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        Path path = folder.newFile().toPath();
+        Files.write(path, content);
+        return path;
+    }
+
+    @Test
+    public void testDigestMatchesMessageDigest() throws IOException, NoSuchAlgorithmException {
+        for (String algorithm : new String[] {"GOST3411-2012.512", "GOST3411-2012.256"}) {
+            MessageDigest md = MessageDigest.getInstance(algorithm);
+            for (int size : new int[] {0, 1, 63, 64, 65, 4096 + 17}) {
+                Path path = createFile(size);
+                byte[] expected = md.digest(Files.readAllBytes(path));
+
+                assertArrayEquals(expected, GOSTFiles.digest(path, algorithm));
+                assertArrayEquals(expected, GOSTFiles.digest(path, algorithm, 128, true));
+            }
+        }
+    }
+
+    @Test
+    public void testPipelinedStream() throws IOException, NoSuchAlgorithmException {
+        for (String algorithm : new String[] {"GOST3411-2012.512", "GOST3411-2012.256"}) {
+            MessageDigest md = MessageDigest.getInstance(algorithm);
+            for (int size : new int[] {0, 1, 63, 64, 65, 4096 + 17}) {
+                byte[] content = Files.readAllBytes(createFile(size));
+                byte[] expected = md.digest(content);
+
+                assertArrayEquals(expected, GOSTFiles.digest(new ByteArrayInputStream(content), algorithm));
+                assertArrayEquals(expected, GOSTFiles.digest(new ByteArrayInputStream(content), algorithm, 100));
+            }
+        }
+    }
+
+    @Test
+    public void testPipelinedStreamFailure() throws NoSuchAlgorithmException {
+        InputStream failing = new InputStream() {
+            private int left = 1000;
+
+            @Override
+            public int read() throws IOException {
+                if (left == 0) {
+                    throw new IOException("disk gone");
+                }
+                left--;
+                return 0;
+            }
+        };
+
+        try {
+            GOSTFiles.digest(failing, "GOST3411-2012.512", 64);
+            fail("read failure not reported");
+        } catch (IOException e) {
+            assertEquals("disk gone", e.getMessage());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testPipelinedStreamError() throws IOException, NoSuchAlgorithmException {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() {
+                throw new NoClassDefFoundError("codec");
+            }
+        };
+
+        try {
+            GOSTFiles.digest(failing, "GOST3411-2012.512", 64);
+            fail("read error not reported");
+        } catch (NoClassDefFoundError e) {
+            assertEquals("codec", e.getMessage());
+        }
+    }
+
+    /**
+     * A stream that never has data is polled without spinning and is no longer read
+     * once hashing is interrupted.
+     */
+    @Test(timeout = 10000)
+    public void testPipelinedStreamCancelled() throws InterruptedException {
+        final AtomicLong reads = new AtomicLong();
+        final InputStream empty = new InputStream() {
+            @Override
+            public int read() {
+                return -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                reads.incrementAndGet();
+                return 0;
+            }
+        };
+        final Throwable[] error = new Throwable[1];
+        Thread hashing = new Thread(() -> {
+            try {
+                GOSTFiles.digest(empty, "GOST3411-2012.512", 64);
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        });
+        hashing.start();
+        Thread.sleep(200);
+        hashing.interrupt();
+        hashing.join();
+        assertTrue(String.valueOf(error[0]), error[0] instanceof InterruptedIOException);
+        assertTrue("spinning: " + reads.get() + " reads", reads.get() < 1000);
+
+        // Give the reader time to notice
+        Thread.sleep(50);
+        long stopped = reads.get();
+        Thread.sleep(100);
+        assertEquals(stopped, reads.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnalignedWindowSize() throws IOException, NoSuchAlgorithmException {
+        GOSTFiles.digest(createFile(100), "GOST3411-2012.512", 100, false);
+    }
+
+    @Test(expected = NoSuchAlgorithmException.class)
+    public void testUnknownAlgorithm() throws IOException, NoSuchAlgorithmException {
+        GOSTFiles.digest(createFile(100), "GOST3411-94");
+    }
+}
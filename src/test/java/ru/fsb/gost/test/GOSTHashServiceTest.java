@@ -0,0 +1,99 @@
+package ru.fsb.gost.test;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTHashService;
+import ru.fsb.gost.GOSTProvider;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+public class GOSTHashServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public GOSTHashServiceTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    @Test
+    public void testSources() throws Exception {
+        try (GOSTHashService service = new GOSTHashService()) {
+            for (String algorithm : new String[] {"GOST3411-2012.512", "GOST3411-2012.256"}) {
+                MessageDigest md = MessageDigest.getInstance(algorithm);
+                for (int size : new int[] {0, 1, 64, 100000}) {
+                    byte[] content = new byte[size];
+                    new Random(size).nextBytes(content);
+                    byte[] expected = md.digest(content);
+                    Path path = folder.newFile().toPath();
+                    Files.write(path, content);
+
+                    assertArrayEquals(expected, service.digest(content, algorithm).get());
+                    assertArrayEquals(expected, service.digest(ByteBuffer.wrap(content), algorithm).get());
+                    assertArrayEquals(expected, service.digest(path, algorithm).get());
+                    assertArrayEquals(expected, service.digest(new ByteArrayInputStream(content), algorithm).get());
+                }
+            }
+            assertEquals(0, service.getPending());
+        }
+    }
+
+    @Test
+    public void testUnknownAlgorithm() throws InterruptedException {
+        try (GOSTHashService service = new GOSTHashService()) {
+            service.digest(new byte[1], "SHA-256").get();
+            fail("Unknown algorithm accepted");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NoSuchAlgorithmException);
+        }
+    }
+
+    @Test
+    public void testBackPressure() throws Exception {
+        final ArrayDeque<Runnable> queued = new ArrayDeque<>();
+        Executor held = queued::add;
+
+        try (GOSTHashService service = new GOSTHashService(held, held, 2)) {
+            CompletableFuture<byte[]> first = service.digest(new byte[1], "GOST3411-2012.256");
+            CompletableFuture<byte[]> second = service.digest(new byte[2], "GOST3411-2012.256");
+            CompletableFuture<byte[]> third = service.digest(new byte[3], "GOST3411-2012.256");
+            assertEquals(2, service.getPending());
+            assertTrue(third.isCompletedExceptionally());
+            try {
+                third.get();
+                fail("Third digest accepted");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+
+            queued.poll().run();
+            assertTrue(first.isDone());
+            assertEquals(1, service.getPending());
+            assertFalse(service.digest(new byte[3], "GOST3411-2012.256").isDone());
+            assertEquals(2, service.getPending());
+
+            // A cancelled digest is skipped but still frees its slot
+            second.cancel(false);
+            while (!queued.isEmpty()) {
+                queued.poll().run();
+            }
+            assertEquals(0, service.getPending());
+        }
+    }
+}
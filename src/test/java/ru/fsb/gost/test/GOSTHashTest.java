@@ -0,0 +1,105 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTHash;
+import ru.fsb.gost.GOSTProvider;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class GOSTHashTest {
+
+    public GOSTHashTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    @Test
+    public void testMatchesMessageDigest() throws NoSuchAlgorithmException {
+        MessageDigest md512 = MessageDigest.getInstance("GOST3411-2012.512");
+        MessageDigest md256 = MessageDigest.getInstance("GOST3411-2012.256");
+        Random random = new Random(3);
+
+        for (int size : new int[] {0, 1, 63, 64, 65, 1000}) {
+            byte[] message = new byte[size];
+            random.nextBytes(message);
+            byte[] expected512 = md512.digest(message);
+            byte[] expected256 = md256.digest(message);
+
+            assertArrayEquals(expected512, GOSTHash.hash512(message));
+            assertArrayEquals(expected256, GOSTHash.hash256(message));
+            assertArrayEquals(expected512, GOSTHash.hash512(ByteBuffer.wrap(message)));
+            assertArrayEquals(expected256, GOSTHash.hash256(ByteBuffer.wrap(message)));
+
+            byte[] padded = new byte[size + 4];
+            System.arraycopy(message, 0, padded, 2, size);
+            assertArrayEquals(expected512, GOSTHash.hash512(padded, 2, size));
+            assertArrayEquals(expected256, GOSTHash.hash256(padded, 2, size));
+
+            byte[] out = new byte[70];
+            GOSTHash.hash512(message, out, 3);
+            assertArrayEquals(expected512, Arrays.copyOfRange(out, 3, 67));
+            GOSTHash.hash256(message, out, 3);
+            assertArrayEquals(expected256, Arrays.copyOfRange(out, 3, 35));
+        }
+    }
+
+    @Test
+    public void testBoundsLeaveStateClean() {
+        byte[] message = new byte[10];
+        byte[] expected = GOSTHash.hash512(message);
+
+        try {
+            GOSTHash.hash512(message, 5, 6);
+            fail("out of bounds range accepted");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            GOSTHash.hash512(message, new byte[70], 7);
+            fail("short output buffer accepted");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+
+        assertArrayEquals(expected, GOSTHash.hash512(message));
+    }
+
+    @Test
+    public void testConcurrentCallers() throws Exception {
+        byte[] message = new byte[4096];
+        new Random(4).nextBytes(message);
+        byte[] expected = MessageDigest.getInstance("GOST3411-2012.512").digest(message);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        if (!Arrays.equals(expected, GOSTHash.hash512(message))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTProvider;
+import ru.fsb.gost.HKDFKeySpec;
+import ru.fsb.gost.KDFTreeKeySpec;
+import ru.fsb.gost.TLSPRFKeySpec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Security;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.SecretKeySpec;
+
+public class GOSTKDFTest {
+
+    /**
+     * Test vectors from RFC 7836, A.1.2 and A.1.3.
+     */
+    private final byte[] K_IN = new byte[32];
+    private final byte[] LABEL = {0x26, (byte)0xbd, (byte)0xb8, 0x78};
+    private final byte[] SEED = {(byte)0xaf, 0x21, 0x43, 0x41, 0x45, 0x65, 0x63, 0x78};
+
+    private final String KDF_256 =
+            "a1aa5f7de402d7b3d323f2991c8d4534" +
+            "013137010a83754fd0af6d7cd4922ed9";
+
+    private final String KDF_TREE_512 =
+            "22b6837845c6bef65ea71672b2658310" +
+            "86d3c76aebe6dae91cad51d83f79d16b" +
+            "074c9330599d7f8d712fca54392f4ddd" +
+            "e93751206b3584c8f43f9e6dc51531f9";
+
+    public GOSTKDFTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+        for (int i = 0; i < K_IN.length; i++) {
+            K_IN[i] = (byte)i;
+        }
+    }
+
+    private static String bytesToHexStr(byte[] bytes) {
+        String res = "";
+        for (byte aByte : bytes) {
+            res += String.format("%02x", aByte);
+        }
+        return res;
+    }
+
+    @Test
+    public void testKDF256() throws GeneralSecurityException {
+        SecretKeyFactory kdf = SecretKeyFactory.getInstance("KDF_GOSTR3411_2012_256");
+        byte[] key = kdf.generateSecret(new KDFTreeKeySpec(K_IN, LABEL, SEED)).getEncoded();
+        assertEquals(KDF_256, bytesToHexStr(key));
+
+        // The definition of RFC 7836, 4.4 on the HMAC service
+        Mac mac = Mac.getInstance("HMAC-GOST3411-2012-256");
+        mac.init(new SecretKeySpec(K_IN, "HMAC-GOST3411-2012-256"));
+        mac.update((byte)1);
+        mac.update(LABEL);
+        mac.update((byte)0);
+        mac.update(SEED);
+        mac.update(new byte[] {1, 0});
+        assertEquals(KDF_256, bytesToHexStr(mac.doFinal()));
+    }
+
+    @Test(expected = InvalidKeySpecException.class)
+    public void testKDF256RejectsTreeParameters() throws GeneralSecurityException {
+        SecretKeyFactory.getInstance("KDF_GOSTR3411_2012_256")
+                .generateSecret(new KDFTreeKeySpec(K_IN, LABEL, SEED, 512, 1));
+    }
+
+    @Test
+    public void testKDFTree() throws GeneralSecurityException {
+        SecretKeyFactory kdf = SecretKeyFactory.getInstance("KDF_TREE_GOSTR3411_2012_256");
+        byte[] key = kdf.generateSecret(new KDFTreeKeySpec(K_IN, LABEL, SEED, 512, 1)).getEncoded();
+        assertEquals(KDF_TREE_512, bytesToHexStr(key));
+
+        // L = 256, R = 1 is KDF_GOSTR3411_2012_256
+        key = kdf.generateSecret(new KDFTreeKeySpec(K_IN, LABEL, SEED, 256, 1)).getEncoded();
+        assertEquals(KDF_256, bytesToHexStr(key));
+    }
+
+    @Test
+    public void testKeyChangesAndPartialBlocks() throws GeneralSecurityException {
+        SecretKeyFactory kdf = SecretKeyFactory.getInstance("KDF_TREE_GOSTR3411_2012_256");
+        byte[] other = K_IN.clone();
+        other[0] ^= 1;
+
+        byte[] first = kdf.generateSecret(new KDFTreeKeySpec(K_IN, LABEL, SEED, 512, 2)).getEncoded();
+        byte[] changed = kdf.generateSecret(new KDFTreeKeySpec(other, LABEL, SEED, 512, 2)).getEncoded();
+        byte[] again = kdf.generateSecret(new KDFTreeKeySpec(K_IN, LABEL, SEED, 512, 2)).getEncoded();
+        assertFalse(Arrays.equals(first, changed));
+        assertArrayEquals(first, again);
+        assertArrayEquals(first, SecretKeyFactory.getInstance("KDF_TREE_GOSTR3411_2012_256")
+                .generateSecret(new KDFTreeKeySpec(K_IN, LABEL, SEED, 512, 2)).getEncoded());
+
+        // L is part of the input, so a shorter key is not a prefix of a longer one
+        byte[] shorter = kdf.generateSecret(new KDFTreeKeySpec(K_IN, LABEL, SEED, 40 * 8, 2)).getEncoded();
+        assertEquals(40, shorter.length);
+        assertFalse(Arrays.equals(Arrays.copyOf(first, 40), shorter));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCounterTooSmall() {
+        new KDFTreeKeySpec(K_IN, LABEL, SEED, 256 * 256, 1);
+    }
+
+    private static byte[] hmac(String algorithm, byte[] key, byte[]... data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(algorithm);
+        // SecretKeySpec rejects an empty key; HashLen zero bytes are the same HMAC key (RFC 5869, 2.2)
+        mac.init(new SecretKeySpec(key.length == 0 ? new byte[mac.getMacLength()] : key, algorithm));
+        for (byte[] d : data) {
+            mac.update(d);
+        }
+        return mac.doFinal();
+    }
+
+    /**
+     * P_hash of RFC 5246, 5 on the Mac service.
+     */
+    private static byte[] pHash(String algorithm, byte[] secret, byte[] seed, int len) throws GeneralSecurityException {
+        byte[] out = new byte[len];
+        byte[] a = seed;
+        for (int off = 0; off < len; ) {
+            a = hmac(algorithm, secret, a);
+            byte[] block = hmac(algorithm, secret, a, seed);
+            int n = Math.min(block.length, len - off);
+            System.arraycopy(block, 0, out, off, n);
+            off += n;
+        }
+        return out;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] r = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, r, a.length, b.length);
+        return r;
+    }
+
+    @Test
+    public void testPRF() throws GeneralSecurityException {
+        String[][] variants = {
+                {"PRF_TLS_GOSTR3411_2012_256", "HMAC-GOST3411-2012-256"},
+                {"PRF_TLS_GOSTR3411_2012_512", "HMAC-GOST3411-2012-512"}};
+        byte[] label = "key expansion".getBytes(StandardCharsets.US_ASCII);
+
+        for (String[] variant : variants) {
+            SecretKeyFactory prf = SecretKeyFactory.getInstance(variant[0]);
+            for (int len : new int[] {1, 32, 48, 64, 104, 200}) {
+                byte[] key = prf.generateSecret(new TLSPRFKeySpec(K_IN, label, SEED, len * 8)).getEncoded();
+                assertArrayEquals(variant[0] + " " + len,
+                        pHash(variant[1], K_IN, concat(label, SEED), len), key);
+            }
+
+            // A different secret re-keys the cached HMAC and back
+            byte[] other = K_IN.clone();
+            other[31] ^= 1;
+            byte[] changed = prf.generateSecret(new TLSPRFKeySpec(other, label, SEED, 256)).getEncoded();
+            assertArrayEquals(pHash(variant[1], other, concat(label, SEED), 32), changed);
+            byte[] again = prf.generateSecret(new TLSPRFKeySpec(K_IN, label, SEED, 256)).getEncoded();
+            assertArrayEquals(pHash(variant[1], K_IN, concat(label, SEED), 32), again);
+        }
+    }
+
+    @Test
+    public void testHKDF() throws GeneralSecurityException {
+        String[][] variants = {
+                {"HKDF-GOST3411-2012-256", "HMAC-GOST3411-2012-256"},
+                {"HKDF-GOST3411-2012-512", "HMAC-GOST3411-2012-512"}};
+        byte[] info = "context".getBytes(StandardCharsets.US_ASCII);
+
+        for (String[] variant : variants) {
+            SecretKeyFactory hkdf = SecretKeyFactory.getInstance(variant[0]);
+
+            for (byte[] salt : new byte[][] {SEED, new byte[0]}) {
+                byte[] prk = hmac(variant[1], salt, K_IN);
+                assertArrayEquals(prk, hkdf.generateSecret(HKDFKeySpec.extract(salt, K_IN)).getEncoded());
+
+                for (int len : new int[] {1, 32, 64, 100, 300}) {
+                    ByteArrayOutputStream okm = new ByteArrayOutputStream();
+                    byte[] t = new byte[0];
+                    for (int i = 1; okm.size() < len; i++) {
+                        t = hmac(variant[1], prk, t, info, new byte[] {(byte)i});
+                        okm.write(t, 0, t.length);
+                    }
+                    byte[] expected = Arrays.copyOf(okm.toByteArray(), len);
+
+                    assertArrayEquals(variant[0] + " " + len, expected,
+                            hkdf.generateSecret(HKDFKeySpec.expand(prk, info, len * 8)).getEncoded());
+                    assertArrayEquals(variant[0] + " " + len, expected,
+                            hkdf.generateSecret(HKDFKeySpec.extractThenExpand(salt, K_IN, info, len * 8)).getEncoded());
+                }
+            }
+        }
+    }
+
+    @Test(expected = InvalidKeySpecException.class)
+    public void testHKDFTooLong() throws GeneralSecurityException {
+        SecretKeyFactory.getInstance("HKDF-GOST3411-2012-256")
+                .generateSecret(HKDFKeySpec.expand(K_IN, null, 256 * 32 * 8));
+    }
+}
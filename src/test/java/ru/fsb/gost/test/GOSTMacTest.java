@@ -0,0 +1,109 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTProvider;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.Security;
+import java.util.Arrays;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+public class GOSTMacTest {
+
+    /**
+     * Test vectors from RFC 7836, section 4.1.1.
+     */
+    private final byte[] K = {
+            0x00, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07,
+            0x08, 0x09, 0x0a, 0x0b, 0x0c, 0x0d, 0x0e, 0x0f,
+            0x10, 0x11, 0x12, 0x13, 0x14, 0x15, 0x16, 0x17,
+            0x18, 0x19, 0x1a, 0x1b, 0x1c, 0x1d, 0x1e, 0x1f
+    };
+
+    private final byte[] T = {
+            0x01, 0x26, (byte)0xbd, (byte)0xb8, 0x78, 0x00, (byte)0xaf, 0x21,
+            0x43, 0x41, 0x45, 0x65, 0x63, 0x78, 0x01, 0x00
+    };
+
+    private final String H_256 =
+            "a1aa5f7de402d7b3d323f2991c8d4534" +
+            "013137010a83754fd0af6d7cd4922ed9";
+
+    private final String H_512 =
+            "a59bab22ecae19c65fbde6e5f4e9f5d8" +
+            "549d31f037f9df9b905500e171923a77" +
+            "3d5f1530f2ed7e964cb2eedc29e9ad2f" +
+            "3afe93b2814f79f5000ffc0366c251e6";
+
+    public GOSTMacTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    private static String bytesToHexStr(byte[] bytes) {
+        String res = "";
+        for (byte aByte : bytes) {
+            res += String.format("%02x", aByte);
+        }
+        return res;
+    }
+
+    @Test
+    public void testHMAC_GOST3411_2012_256() throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HMAC-GOST3411-2012-256");
+        mac.init(new SecretKeySpec(K, "HMAC-GOST3411-2012-256"));
+
+        assertEquals(32, mac.getMacLength());
+        assertEquals(H_256, bytesToHexStr(mac.doFinal(T)));
+        // The MAC must be back in its keyed state after doFinal
+        assertEquals(H_256, bytesToHexStr(mac.doFinal(T)));
+    }
+
+    @Test
+    public void testHMAC_GOST3411_2012_512() throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HMAC-GOST3411-2012-512");
+        mac.init(new SecretKeySpec(K, "HMAC-GOST3411-2012-512"));
+
+        assertEquals(64, mac.getMacLength());
+        mac.update(T, 0, 5);
+        mac.reset();
+        for (byte b : T) {
+            mac.update(b);
+        }
+        assertEquals(H_512, bytesToHexStr(mac.doFinal()));
+    }
+
+    @Test
+    public void testLongKey() throws GeneralSecurityException {
+        byte[] key = new byte[100];
+        Arrays.fill(key, (byte)0x42);
+
+        Mac mac = Mac.getInstance("HMAC-GOST3411-2012-512");
+        mac.init(new SecretKeySpec(key, "HMAC-GOST3411-2012-512"));
+
+        // A key longer than the block size is replaced with its digest
+        byte[] hashedKey = MessageDigest.getInstance("GOST3411-2012.512").digest(key);
+        Mac expected = Mac.getInstance("HMAC-GOST3411-2012-512");
+        expected.init(new SecretKeySpec(hashedKey, "HMAC-GOST3411-2012-512"));
+
+        assertArrayEquals(expected.doFinal(T), mac.doFinal(T));
+    }
+
+    @Test
+    public void testClone() throws GeneralSecurityException, CloneNotSupportedException {
+        Mac mac = Mac.getInstance("HMAC-GOST3411-2012-256");
+        mac.init(new SecretKeySpec(K, "HMAC-GOST3411-2012-256"));
+
+        mac.update(T, 0, 8);
+        Mac copy = (Mac)mac.clone();
+        mac.update(T, 8, 8);
+        copy.update(T, 8, 8);
+
+        assertEquals(H_256, bytesToHexStr(mac.doFinal()));
+        assertEquals(H_256, bytesToHexStr(copy.doFinal()));
+    }
+}
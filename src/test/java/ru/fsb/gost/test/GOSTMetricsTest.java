@@ -0,0 +1,93 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+import ru.fsb.gost.GOSTMetrics;
+import ru.fsb.gost.GOSTProvider;
+import ru.fsb.gost.GOSTResumableDigest;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+public class GOSTMetricsTest {
+
+    public GOSTMetricsTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Test
+    public void testCounters() throws NoSuchAlgorithmException {
+        assumeTrue("run with -Dru.fsb.gost.metrics=true", GOSTMetrics.ENABLED);
+
+        MessageDigest md512 = MessageDigest.getInstance("GOST3411-2012.512");
+        MessageDigest md256 = MessageDigest.getInstance("GOST3411-2012.256");
+
+        GOSTMetrics.reset();
+
+        md512.digest(new byte[100]);
+        md256.update((byte)1);
+        md256.update(ByteBuffer.allocateDirect(200));
+        md256.digest();
+        md512.digest();
+
+        md512.update(new byte[1000]);
+        md512.reset();
+
+        // The reset digest is not counted
+        assertEquals(3, GOSTMetrics.digestsFinalized());
+        assertEquals(100 + 201, GOSTMetrics.bytesAbsorbed());
+        assertEquals((1 + 3) + (3 + 3) + 3, GOSTMetrics.blocksCompressed());
+        assertEquals(3, sum(GOSTMetrics.latencyHistogram()));
+
+        GOSTMetrics.reset();
+        assertEquals(0, GOSTMetrics.digestsFinalized());
+        assertEquals(0, sum(GOSTMetrics.latencyHistogram()));
+    }
+
+    /**
+     * Work done before a midstate was taken is not charged to the digests resumed from it.
+     */
+    @Test
+    public void testMidstates() throws GeneralSecurityException {
+        assumeTrue("run with -Dru.fsb.gost.metrics=true", GOSTMetrics.ENABLED);
+
+        Mac mac = Mac.getInstance("HMAC-GOST3411-2012-512");
+        mac.init(new SecretKeySpec(new byte[32], "HMAC-GOST3411-2012-512"));
+        GOSTResumableDigest md = new GOSTResumableDigest("GOST3411-2012.256");
+        md.update(new byte[10 * 1024]);
+        byte[] checkpoint = md.checkpoint();
+
+        GOSTMetrics.reset();
+
+        // The inner finalization, then the inner hash and finalization of the outer digest
+        mac.doFinal();
+        assertEquals(2, GOSTMetrics.digestsFinalized());
+        assertEquals(64, GOSTMetrics.bytesAbsorbed());
+        assertEquals(3 + (1 + 3), GOSTMetrics.blocksCompressed());
+
+        GOSTMetrics.reset();
+
+        md = GOSTResumableDigest.restore(checkpoint);
+        md.update(new byte[100]);
+        md.digest();
+        assertEquals(1, GOSTMetrics.digestsFinalized());
+        assertEquals(100, GOSTMetrics.bytesAbsorbed());
+        assertEquals(1 + 3, GOSTMetrics.blocksCompressed());
+    }
+}
@@ -0,0 +1,93 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Security;
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+public class GOSTPBKDF2Test {
+
+    /**
+     * Test vectors from R 50.1.111-2016 for P = "password", S = "salt", dkLen = 64.
+     */
+    private final String DK_1 =
+            "64770af7f748c3b1c9ac831dbcfd85c2" +
+            "6111b30a8a657ddc3056b80ca73e040d" +
+            "2854fd36811f6d825cc4ab66ec0a68a4" +
+            "90a9e5cf5156b3a2b7eecddbf9a16b47";
+
+    private final String DK_2 =
+            "5a585bafdfbb6e8830d6d68aa3b43ac0" +
+            "0d2e4aebce01c9b31c2caed56f0236d4" +
+            "d34b2b8fbd2c4e89d54d46f50e47d45b" +
+            "bac301571743119e8d3c42ba66d348de";
+
+    private final String DK_4096 =
+            "e52deb9a2d2aaff4e2ac9d47a41f34c2" +
+            "0376591c67807f0477e32549dc341bc7" +
+            "867c09841b6d58e29d0347c996301d55" +
+            "df0d34e47cf68f4e3c2cdaf1d9ab86c3";
+
+    public GOSTPBKDF2Test() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    private static String bytesToHexStr(byte[] bytes) {
+        String res = "";
+        for (byte aByte : bytes) {
+            res += String.format("%02x", aByte);
+        }
+        return res;
+    }
+
+    private static byte[] derive(char[] password, byte[] salt, int iterations, int keyLength)
+            throws GeneralSecurityException {
+        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHMAC-GOST3411-2012-512");
+        return factory.generateSecret(new PBEKeySpec(password, salt, iterations, keyLength)).getEncoded();
+    }
+
+    @Test
+    public void testPBKDF2() throws GeneralSecurityException {
+        byte[] salt = "salt".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(DK_1, bytesToHexStr(derive("password".toCharArray(), salt, 1, 512)));
+        assertEquals(DK_2, bytesToHexStr(derive("password".toCharArray(), salt, 2, 512)));
+        assertEquals(DK_4096, bytesToHexStr(derive("password".toCharArray(), salt, 4096, 512)));
+    }
+
+    @Test
+    public void testMatchesGenericHMacLoop() throws GeneralSecurityException {
+        char[] password = "passwordPASSWORDpassword".toCharArray();
+        byte[] salt = "saltSALTsaltSALTsaltSALTsaltSALTsalt".getBytes(StandardCharsets.US_ASCII);
+        int iterations = 17;
+        int dkLen = 100;
+
+        Mac mac = Mac.getInstance("HMAC-GOST3411-2012-512");
+        mac.init(new SecretKeySpec(new String(password).getBytes(StandardCharsets.UTF_8), "HMAC-GOST3411-2012-512"));
+
+        byte[] expected = new byte[dkLen];
+        for (int i = 1, off = 0; off < dkLen; i++, off += 64) {
+            mac.update(salt);
+            byte[] u = mac.doFinal(new byte[] {(byte)(i >>> 24), (byte)(i >>> 16), (byte)(i >>> 8), (byte)i});
+            byte[] t = u.clone();
+            for (int j = 1; j < iterations; j++) {
+                u = mac.doFinal(u);
+                for (int k = 0; k < 64; k++) {
+                    t[k] ^= u[k];
+                }
+            }
+            System.arraycopy(t, 0, expected, off, Math.min(64, dkLen - off));
+        }
+
+        assertArrayEquals(expected, derive(password, salt, iterations, dkLen * 8));
+    }
+}
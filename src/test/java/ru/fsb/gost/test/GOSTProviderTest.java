@@ -4,9 +4,13 @@ import org.junit.Test;
 import static org.junit.Assert.*;
 import ru.fsb.gost.GOSTProvider;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.Security;
+import java.util.Arrays;
 
 public class GOSTProviderTest {
 
@@ -152,4 +156,130 @@ public class GOSTProviderTest {
             fail(e.getMessage());
         }
     }
+
+    @Test
+    public void testDigestMixedUpdate() {
+        try {
+            MessageDigest md = MessageDigest.getInstance("GOST3411-2012.512");
+
+            byte[] message = new byte[1000];
+            for (int i = 0; i < message.length; i++) {
+                message[i] = (byte)(i * 31 + 7);
+            }
+            byte[] expected = md.digest(message);
+
+            // Chunk sizes that leave every offset within a word and a block behind
+            int[][] patterns = {{1}, {8}, {63}, {65}, {1, 8, 63, 65}, {3, 130, 5}};
+            for (int[] pattern : patterns) {
+                for (int way = 0; way < 3; way++) {
+                    int off = 0;
+                    for (int i = 0; off < message.length; i++) {
+                        int len = Math.min(pattern[i % pattern.length], message.length - off);
+                        if (len == 1) {
+                            md.update(message[off]);
+                        } else if (way == 0) {
+                            md.update(message, off, len);
+                        } else {
+                            ByteBuffer buffer = ByteBuffer.wrap(message, off, len);
+                            md.update(way == 1 ? buffer : buffer.order(ByteOrder.LITTLE_ENDIAN));
+                        }
+                        off += len;
+                    }
+                    assertArrayEquals(expected, md.digest());
+                }
+            }
+        } catch (NoSuchAlgorithmException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testDigestIntoBuffer() {
+        try {
+            MessageDigest md512 = MessageDigest.getInstance("GOST3411-2012.512");
+            MessageDigest md256 = MessageDigest.getInstance("GOST3411-2012.256");
+
+            assertEquals(64, md512.getDigestLength());
+            assertEquals(32, md256.getDigestLength());
+
+            byte[] m2 = reverse(M2);
+            byte[] buf = new byte[3 + 64];
+
+            md512.update(m2);
+            assertEquals(64, md512.digest(buf, 3, 64));
+            assertEquals(A2_512, bytesToHexStr(Arrays.copyOfRange(buf, 3, 67)));
+
+            md256.update(m2);
+            assertEquals(32, md256.digest(buf, 3, 64));
+            assertEquals(A2_256, bytesToHexStr(Arrays.copyOfRange(buf, 3, 35)));
+
+            md256.update(m2);
+            try {
+                md256.digest(buf, 0, 31);
+                fail("Partial digest must be rejected");
+            } catch (DigestException e) {
+                // expected
+            }
+        } catch (NoSuchAlgorithmException | DigestException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testDigestByteBufferUpdate() {
+        try {
+            MessageDigest md = MessageDigest.getInstance("GOST3411-2012.512");
+
+            byte[] m2 = reverse(M2);
+            ByteBuffer[] buffers = {
+                    ByteBuffer.allocate(m2.length + 5),
+                    ByteBuffer.allocateDirect(m2.length + 5),
+                    ByteBuffer.allocateDirect(m2.length + 5).order(ByteOrder.LITTLE_ENDIAN)
+            };
+
+            for (ByteBuffer buffer : buffers) {
+                buffer.position(5);
+                buffer.put(m2);
+                buffer.position(5);
+
+                // Unaligned head so that the block loop starts in the middle of the buffer
+                ByteBuffer head = buffer.duplicate();
+                head.limit(8);
+                md.update(head);
+                ByteBuffer tail = buffer.asReadOnlyBuffer().order(buffer.order());
+                tail.position(8);
+                md.update(tail);
+                assertEquals(A2_512, bytesToHexStr(md.digest()));
+            }
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(M3.length);
+            direct.put(M3).flip();
+            md.update(direct);
+            assertFalse(direct.hasRemaining());
+            assertEquals(A3_512, bytesToHexStr(md.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testDigestClone() {
+        try {
+            MessageDigest md = MessageDigest.getInstance("GOST3411-2012.512");
+
+            byte[] m2 = reverse(M2);
+            md.update(m2, 0, 67);
+            MessageDigest copy = (MessageDigest)md.clone();
+
+            md.update(m2, 67, m2.length - 67);
+            assertEquals(A2_512, bytesToHexStr(md.digest()));
+
+            // The original has been reset by digest() and must not affect the copy
+            md.update(m2);
+            copy.update(m2, 67, m2.length - 67);
+            assertEquals(A2_512, bytesToHexStr(copy.digest()));
+        } catch (NoSuchAlgorithmException | CloneNotSupportedException e) {
+            fail(e.getMessage());
+        }
+    }
 }
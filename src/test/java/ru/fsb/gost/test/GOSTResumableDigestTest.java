@@ -0,0 +1,84 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTProvider;
+import ru.fsb.gost.GOSTResumableDigest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.Random;
+
+public class GOSTResumableDigestTest {
+
+    private final byte[] log = new byte[5000];
+
+    public GOSTResumableDigestTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+        new Random(7).nextBytes(log);
+    }
+
+    @Test
+    public void testResumeAfterEveryAppend() throws NoSuchAlgorithmException {
+        for (String algorithm : new String[] {"GOST3411-2012.512", "GOST3411-2012.256"}) {
+            MessageDigest md = MessageDigest.getInstance(algorithm);
+            GOSTResumableDigest resumable = new GOSTResumableDigest(algorithm);
+            byte[] checkpoint = resumable.checkpoint();
+
+            // Appends of varying size, so checkpoints fall on every offset within a block
+            int off = 0;
+            for (int len = 1; off + len <= log.length; off += len, len += 7) {
+                GOSTResumableDigest restored = GOSTResumableDigest.restore(checkpoint);
+                assertEquals(algorithm, restored.getAlgorithm());
+                restored.update(log, off, len);
+                checkpoint = restored.checkpoint();
+                assertTrue(checkpoint.length <= 258);
+
+                assertArrayEquals(md.digest(Arrays.copyOf(log, off + len)), restored.digest());
+            }
+        }
+    }
+
+    @Test
+    public void testCheckpointLeavesDigestUntouched() throws Exception {
+        GOSTResumableDigest md = new GOSTResumableDigest("GOST3411-2012.512");
+        md.update(log, 0, 100);
+        byte[] checkpoint = md.checkpoint();
+        MessageDigest copy = (MessageDigest)md.clone();
+        md.update(log, 100, 50);
+        copy.update(log, 100, 50);
+
+        assertArrayEquals(checkpoint, GOSTResumableDigest.restore(checkpoint).checkpoint());
+        assertArrayEquals(MessageDigest.getInstance("GOST3411-2012.512").digest(Arrays.copyOf(log, 150)), md.digest());
+        assertArrayEquals(md.digest(Arrays.copyOf(log, 150)), copy.digest());
+    }
+
+    @Test
+    public void testCorruptCheckpoint() throws NoSuchAlgorithmException {
+        GOSTResumableDigest md = new GOSTResumableDigest("GOST3411-2012.256");
+        md.update(log, 0, 10);
+        byte[] checkpoint = md.checkpoint();
+
+        byte[][] corrupt = {
+                new byte[0],
+                Arrays.copyOf(checkpoint, checkpoint.length - 1),
+                checkpoint.clone(),
+                checkpoint.clone()
+        };
+        corrupt[2][0] = 2;
+        corrupt[3][1] = 48;
+
+        for (byte[] state : corrupt) {
+            try {
+                GOSTResumableDigest.restore(state);
+                fail("accepted a corrupt checkpoint");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+}
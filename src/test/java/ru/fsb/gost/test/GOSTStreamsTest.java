@@ -0,0 +1,114 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTDigestChannel;
+import ru.fsb.gost.GOSTDigestInputStream;
+import ru.fsb.gost.GOSTDigestOutputStream;
+import ru.fsb.gost.GOSTProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.Random;
+
+public class GOSTStreamsTest {
+
+    private final byte[] content = new byte[10000];
+
+    public GOSTStreamsTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+        new Random(1).nextBytes(content);
+    }
+
+    private byte[] expected(String algorithm) throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance(algorithm).digest(content);
+    }
+
+    @Test
+    public void testInputStream() throws IOException, NoSuchAlgorithmException {
+        for (String algorithm : new String[] {"GOST3411-2012.512", "GOST3411-2012.256"}) {
+            GOSTDigestInputStream in = new GOSTDigestInputStream(new ByteArrayInputStream(content), algorithm);
+
+            byte[] buf = new byte[1000];
+            assertEquals(content[0] & 0xFF, in.read());
+            assertEquals(99, in.read(buf, 0, 99));
+            assertEquals(2000, in.skip(2000));
+            while (in.read(buf) != -1) {
+                // drain
+            }
+            assertEquals(-1, in.read());
+
+            assertEquals(expected(algorithm).length, in.getDigestLength());
+            assertArrayEquals(expected(algorithm), in.digest());
+        }
+    }
+
+    @Test
+    public void testOutputStream() throws IOException, NoSuchAlgorithmException {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        GOSTDigestOutputStream out = new GOSTDigestOutputStream(sink, "GOST3411-2012.512");
+
+        out.write(content[0]);
+        out.write(content, 1, 100);
+        out.write(content, 101, content.length - 101);
+        out.close();
+
+        assertArrayEquals(content, sink.toByteArray());
+        assertArrayEquals(expected("GOST3411-2012.512"), out.digest());
+    }
+
+    @Test
+    public void testChannel() throws IOException, NoSuchAlgorithmException {
+        // Accepts at most 7 bytes per write, so most writes are partial
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        WritableByteChannel slow = new WritableByteChannel() {
+            public int write(ByteBuffer src) {
+                int n = Math.min(7, src.remaining());
+                for (int i = 0; i < n; i++) {
+                    sink.write(src.get());
+                }
+                return n;
+            }
+
+            public boolean isOpen() {
+                return true;
+            }
+
+            public void close() {
+            }
+        };
+
+        GOSTDigestChannel tee = new GOSTDigestChannel(slow, "GOST3411-2012.256");
+        ByteBuffer src = ByteBuffer.wrap(content);
+        while (src.hasRemaining()) {
+            tee.write(src);
+        }
+        assertArrayEquals(content, sink.toByteArray());
+        assertArrayEquals(expected("GOST3411-2012.256"), tee.digest());
+
+        GOSTDigestChannel channel = new GOSTDigestChannel("GOST3411-2012.512");
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+        direct.put(content).flip();
+        assertEquals(content.length, channel.write(direct));
+        assertFalse(direct.hasRemaining());
+        assertArrayEquals(expected("GOST3411-2012.512"), channel.digest());
+
+        channel.close();
+        assertFalse(channel.isOpen());
+        try {
+            channel.write(ByteBuffer.wrap(content));
+            fail("write after close");
+        } catch (ClosedChannelException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.fsb.gost.test;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+import ru.fsb.gost.GOSTProvider;
+import ru.fsb.gost.cli.GOSTSum;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.Random;
+
+public class GOSTSumTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    public GOSTSumTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    private int run(String... args) {
+        out.reset();
+        err.reset();
+        return GOSTSum.run(args, new PrintStream(out, true), new PrintStream(err, true));
+    }
+
+    private static String bytesToHexStr(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testCreateAndVerify() throws IOException, NoSuchAlgorithmException {
+        Path root = folder.newFolder("tree").toPath();
+        Path sub = Files.createDirectory(root.resolve("sub"));
+        Random random = new Random(0);
+        // The last file is above the memory-mapping threshold
+        int[] sizes = {0, 1, 100, 3 * 1024 * 1024};
+        Path[] files = {root.resolve("a"), root.resolve("b"), sub.resolve("c"), sub.resolve("d")};
+        for (int i = 0; i < files.length; i++) {
+            byte[] content = new byte[sizes[i]];
+            random.nextBytes(content);
+            Files.write(files[i], content);
+        }
+
+        assertEquals(0, run("-a", "256", "-j", "3", root.toString()));
+        String[] lines = out.toString("UTF-8").split("\n");
+        assertEquals(files.length, lines.length);
+
+        MessageDigest md = MessageDigest.getInstance("GOST3411-2012.256");
+        for (int i = 0; i < files.length; i++) {
+            String expected = bytesToHexStr(md.digest(Files.readAllBytes(files[i]))) + "  " + files[i];
+            assertEquals(expected, lines[i]);
+        }
+
+        Path manifest = folder.newFile("manifest").toPath();
+        Files.write(manifest, out.toByteArray());
+        assertEquals(0, run("-a", "256", "-c", manifest.toString()));
+        assertTrue(out.toString("UTF-8").endsWith(files[3] + ": OK\n"));
+
+        // Wrong digest size for the manifest, then a modified and a deleted file
+        assertEquals(1, run("-c", manifest.toString()));
+        assertTrue(err.toString("UTF-8").contains("4 line(s) improperly formatted"));
+
+        Files.write(files[1], new byte[] {1});
+        Files.delete(files[2]);
+        assertEquals(1, run("-a", "256", "-c", manifest.toString()));
+        String report = out.toString("UTF-8");
+        assertTrue(report.contains(files[0] + ": OK\n"));
+        assertTrue(report.contains(files[1] + ": FAILED\n"));
+        assertTrue(report.contains(files[2] + ": FAILED open or read\n"));
+        assertTrue(err.toString("UTF-8").contains("1 computed checksum(s) did NOT match"));
+    }
+
+    @Test
+    public void testEscapedName() throws IOException {
+        Path file = folder.newFile("back\\slash").toPath();
+        Files.write(file, new byte[] {42});
+
+        assertEquals(0, run(file.toString()));
+        String line = out.toString("UTF-8");
+        assertTrue(line.startsWith("\\"));
+        assertTrue(line.endsWith("back\\\\slash\n"));
+
+        Path manifest = folder.newFile("manifest").toPath();
+        Files.write(manifest, line.getBytes(StandardCharsets.UTF_8));
+        assertEquals(0, run("-c", manifest.toString()));
+        assertEquals(file + ": OK\n", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void testUsage() {
+        assertEquals(2, run());
+        assertEquals(2, run("-j"));
+        assertEquals(2, run("-a", "384", "x"));
+    }
+
+    @Test
+    public void testMissingPath() throws IOException {
+        Path missing = folder.getRoot().toPath().resolve("missing");
+        assertEquals(1, run(missing.toString()));
+        assertEquals("gostsum: " + missing + ": No such file or directory\n", err.toString("UTF-8"));
+    }
+
+    @Test
+    public void testUnreadableDirectory() throws IOException {
+        Path dir = folder.newFolder("locked").toPath();
+        Files.write(dir.resolve("file"), new byte[] {1});
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("-wx------"));
+        try {
+            // Permissions do not apply to root
+            assumeFalse(Files.isReadable(dir));
+            assertEquals(1, run(folder.getRoot().toString()));
+            assertEquals("gostsum: " + dir + ": Permission denied\n", err.toString("UTF-8"));
+        } finally {
+            Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwx------"));
+        }
+    }
+}
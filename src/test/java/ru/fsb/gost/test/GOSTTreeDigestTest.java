@@ -0,0 +1,118 @@
+package ru.fsb.gost.test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import ru.fsb.gost.GOSTProvider;
+import ru.fsb.gost.GOSTTreeDigest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class GOSTTreeDigestTest {
+
+    public GOSTTreeDigestTest() {
+        if (Security.getProvider("GOST") == null) {
+            Security.addProvider(new GOSTProvider());
+        }
+    }
+
+    private static byte[] hash(MessageDigest md, int prefix, byte[]... parts) {
+        md.update((byte)prefix);
+        for (byte[] part : parts) {
+            md.update(part);
+        }
+        return md.digest();
+    }
+
+    @Test
+    public void testSingleLeaf() throws NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance("GOST3411-2012.256");
+        MessageDigest tree = MessageDigest.getInstance("GOST3411-2012.256-TREE");
+
+        assertEquals(32, tree.getDigestLength());
+        assertArrayEquals(hash(md, 0), tree.digest());
+
+        byte[] data = "Hello, World!".getBytes();
+        assertArrayEquals(hash(md, 0, data), tree.digest(data));
+    }
+
+    @Test
+    public void testTreeShape() throws NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance("GOST3411-2012.512");
+        MessageDigest tree = MessageDigest.getInstance("GOST3411-2012.512-TREE");
+
+        int leaf = GOSTTreeDigest.LEAF_SIZE;
+        byte[] data = new byte[2 * leaf + 100];
+        new Random(7).nextBytes(data);
+
+        byte[] l0 = hash(md, 0, Arrays.copyOfRange(data, 0, leaf));
+        byte[] l1 = hash(md, 0, Arrays.copyOfRange(data, leaf, 2 * leaf));
+        byte[] l2 = hash(md, 0, Arrays.copyOfRange(data, 2 * leaf, data.length));
+        byte[] expected = hash(md, 1, hash(md, 1, l0, l1), l2);
+
+        // Uneven updates must not change how the input is cut into leaves
+        tree.update(data, 0, 17);
+        tree.update(data[17]);
+        tree.update(data, 18, data.length - 18);
+        assertArrayEquals(expected, tree.digest());
+
+        assertArrayEquals(expected, tree.digest(data));
+    }
+
+    @Test
+    public void testDiffersFromPlainDigest() throws NoSuchAlgorithmException {
+        byte[] data = new byte[100];
+        assertFalse(Arrays.equals(MessageDigest.getInstance("GOST3411-2012.512").digest(data),
+                MessageDigest.getInstance("GOST3411-2012.512-TREE").digest(data)));
+    }
+
+    @Test
+    public void testProofs() throws NoSuchAlgorithmException {
+        int leaf = GOSTTreeDigest.LEAF_SIZE;
+        byte[] data = new byte[4 * leaf + 10];
+        new Random(3).nextBytes(data);
+        int count = 5;
+
+        List<byte[]> leaves = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int len = Math.min(leaf, data.length - i * leaf);
+            leaves.add(GOSTTreeDigest.leafDigest("GOST3411-2012.256", data, i * leaf, len));
+        }
+        byte[] root = MessageDigest.getInstance("GOST3411-2012.256-TREE").digest(data);
+        assertArrayEquals(root, GOSTTreeDigest.root("GOST3411-2012.256", leaves));
+
+        for (int i = 0; i < count; i++) {
+            int len = Math.min(leaf, data.length - i * leaf);
+            List<byte[]> proof = GOSTTreeDigest.proof("GOST3411-2012.256", leaves, i);
+            assertTrue(GOSTTreeDigest.verify("GOST3411-2012.256", data, i * leaf, len, i, count, proof, root));
+            // The same proof for another position or altered bytes fails
+            assertFalse(GOSTTreeDigest.verify("GOST3411-2012.256", data, i * leaf, len, (i + 1) % count, count,
+                    proof, root));
+            data[i * leaf] ^= 1;
+            assertFalse(GOSTTreeDigest.verify("GOST3411-2012.256", data, i * leaf, len, i, count, proof, root));
+            data[i * leaf] ^= 1;
+        }
+    }
+
+    @Test
+    public void testDigestIntoBuffer() throws Exception {
+        MessageDigest tree = MessageDigest.getInstance("GOST3411-2012.512-TREE");
+        byte[] data = new byte[GOSTTreeDigest.LEAF_SIZE * 3];
+        byte[] expected = tree.digest(data);
+        byte[] out = new byte[70];
+        tree.update(data);
+        assertEquals(64, tree.digest(out, 3, 64));
+        assertArrayEquals(expected, Arrays.copyOfRange(out, 3, 67));
+        try {
+            tree.digest(out, 0, 32);
+            fail("Partial digest returned");
+        } catch (java.security.DigestException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.fsb.gost;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static ru.fsb.gost.GOSTDigest.C;
+
+/**
+ * g_N on jdk.incubator.vector. A 512-bit state fits one LongVector, so every xor512
+ * is a single instruction, and LPS is eight gathers from the flat table shared with
+ * GOSTFlatTableEngine: gather k fetches T[k][byte i of lane 7 - k] for all eight
+ * output lanes i at once and the results are xored together.
+ *
+ * The additions to N and Sigma stay in GOSTDigest: their carry chain runs over
+ * byte-reversed limbs and is a handful of scalar operations per block.
+ *
+ * Only instantiated through GOSTEngine, which falls back to a scalar engine when
+ * this class cannot be loaded or the hardware has no 512-bit vectors.
+ */
+final class GOSTVectorEngine extends GOSTEngine {
+
+    private final static VectorSpecies<Long> SPECIES = LongVector.SPECIES_512;
+    private final static VectorSpecies<Integer> INDEX_SPECIES = IntVector.SPECIES_256;
+
+    private final static long[] TABLE = GOSTFlatTableEngine.TABLE;
+    private final static LongVector SHIFTS =
+            LongVector.fromArray(SPECIES, new long[] {0, 8, 16, 24, 32, 40, 48, 56}, 0);
+
+    // Temporary buffers
+    private final long[] K     = new long[8];
+    private final long[] Ki    = new long[8];
+    private final long[] lanes = new long[8];
+    private final int[] index  = new int[8];
+
+    GOSTVectorEngine() {
+        // Narrower hardware would run SPECIES_512 in a slow emulation
+        if (LongVector.SPECIES_PREFERRED.vectorBitSize() < 512) {
+            throw new UnsupportedOperationException("512-bit vectors are not supported by the hardware");
+        }
+    }
+
+    @Override
+    GOSTEngine copy() {
+        return new GOSTVectorEngine();
+    }
+
+    @Override
+    void g_N(long[] h, long[] N, long[] m) {
+        FX(K, h, N);
+        System.arraycopy(K, 0, Ki, 0, 8);
+
+        FX(K, K, m);
+        for (int i = 0; i < 11; ++i) {
+            FX(Ki, Ki, C[i]);
+            FX(K, K, Ki);
+        }
+        FX(Ki, Ki, C[11]);
+
+        LongVector.fromArray(SPECIES, K, 0)
+                .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, Ki, 0))
+                .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, h, 0))
+                .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, m, 0))
+                .intoArray(h, 0);
+    }
+
+    /**
+     * dst = LPS(A xor B). Vectors never leave this method: C2 gives up inlining it
+     * 25 times into g_N, and a vector crossing a call boundary is boxed on the heap.
+     */
+    private void FX(long[] dst, long[] A, long[] B) {
+        LongVector.fromArray(SPECIES, A, 0)
+                .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, B, 0))
+                .intoArray(lanes, 0);
+
+        LongVector r = LongVector.zero(SPECIES);
+        for (int k = 0; k < 8; k++) {
+            IntVector offsets = (IntVector)LongVector.broadcast(SPECIES, lanes[7 - k])
+                    .lanewise(VectorOperators.LSHR, SHIFTS)
+                    .and(0xFFL)
+                    .add(k * 256L)
+                    .castShape(INDEX_SPECIES, 0);
+            offsets.intoArray(index, 0);
+            r = r.lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, TABLE, 0, index, 0));
+        }
+        r.intoArray(dst, 0);
+    }
+}